@@ -0,0 +1,445 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 配列行列 (行優先で1次元配列に格納された行列) に関する数値計算スニペット.
+ *
+ * <p>
+ * rows 行 cols 列の行列 A の (i, j) 成分は a[i * cols + j] に格納されているとする.
+ * 配列 a の長さは rows * cols 以上でなければならない.
+ * </p>
+ *
+ * @see ArrayVec
+ */
+public final class ArrayMat {
+
+    /**
+     * 列ごとの計算において, 一度に処理する列数.
+     * 列ごとの途中状態がキャッシュに収まるようにする.
+     */
+    private static final int COLUMN_BLOCK = 256;
+
+    /**
+     * log-semiring 行列ベクトル積において, 一度に処理する行数.
+     */
+    private static final int ROW_BLOCK = 64;
+
+    /**
+     * 並列計算において, これ以下の要素数 (rows * cols) は分割せずに逐次計算する.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    private ArrayMat() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 各行の max-norm (inf-norm) の計算.
+     * out[i] に i 行目のノルムを格納する.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void rowNormMax(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", rows);
+        for (int i = 0; i < rows; i++) {
+            out[i] = ArrayVec.normMax(a, i * cols, cols, 1);
+        }
+    }
+
+    /**
+     * 各行の 1-norm の計算.
+     * out[i] に i 行目のノルムを格納する.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void rowNorm1(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", rows);
+        for (int i = 0; i < rows; i++) {
+            out[i] = ArrayVec.norm1(a, i * cols, cols, 1);
+        }
+    }
+
+    /**
+     * 各行の 2-norm の計算.
+     * out[i] に i 行目のノルムを格納する.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void rowNorm2(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", rows);
+        for (int i = 0; i < rows; i++) {
+            out[i] = ArrayVec.norm2(a, i * cols, cols, 1);
+        }
+    }
+
+    /**
+     * 各列の max-norm (inf-norm) の計算.
+     * out[j] に j 列目のノルムを格納する.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ cols 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void columnNormMax(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", cols);
+        for (int j0 = 0; j0 < cols; j0 += COLUMN_BLOCK) {
+            int j1 = Math.min(j0 + COLUMN_BLOCK, cols);
+            for (int j = j0; j < j1; j++) {
+                out[j] = 0d;
+            }
+            // 行の順に走査する
+            for (int i = 0, rowHead = 0; i < rows; i++, rowHead += cols) {
+                for (int j = j0; j < j1; j++) {
+                    out[j] = Math.max(out[j], Math.abs(a[rowHead + j]));
+                }
+            }
+        }
+    }
+
+    /**
+     * 各列の 1-norm の計算.
+     * out[j] に j 列目のノルムを格納する.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ cols 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void columnNorm1(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", cols);
+        for (int j0 = 0; j0 < cols; j0 += COLUMN_BLOCK) {
+            int j1 = Math.min(j0 + COLUMN_BLOCK, cols);
+            for (int j = j0; j < j1; j++) {
+                out[j] = 0d;
+            }
+            // 行の順に走査する
+            for (int i = 0, rowHead = 0; i < rows; i++, rowHead += cols) {
+                for (int j = j0; j < j1; j++) {
+                    out[j] += Math.abs(a[rowHead + j]);
+                }
+            }
+        }
+    }
+
+    /**
+     * 各列の 2-norm の計算.
+     * out[j] に j 列目のノルムを格納する.
+     *
+     * <p>
+     * 列のブロックごとに行の順に走査し, スケーリングしない二乗和と最大絶対値を列ごとに求める.
+     * 最大絶対値が {@link Norm2Accumulator} の高速経路と同じ範囲にない列 (NaN, inf を含む) は,
+     * その列のみスケーリングしながら計算し直す.
+     * したがって, オーバーフロー, アンダーフローへの耐性は {@link ArrayVec#norm2(double...)} と同等である.
+     * </p>
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ cols 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void columnNorm2(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", cols);
+        double[] maxAbs = new double[Math.min(cols, COLUMN_BLOCK)];
+        for (int j0 = 0; j0 < cols; j0 += COLUMN_BLOCK) {
+            int j1 = Math.min(j0 + COLUMN_BLOCK, cols);
+            for (int j = j0; j < j1; j++) {
+                out[j] = 0d;
+                maxAbs[j - j0] = 0d;
+            }
+            // 行の順に走査する
+            for (int i = 0, rowHead = 0; i < rows; i++, rowHead += cols) {
+                for (int j = j0; j < j1; j++) {
+                    double v = a[rowHead + j];
+                    out[j] += v * v;
+                    maxAbs[j - j0] = Math.max(maxAbs[j - j0], Math.abs(v));
+                }
+            }
+
+            for (int j = j0; j < j1; j++) {
+                double max = maxAbs[j - j0];
+                if (max >= 0x1p-460 && max < 0x1p480) {
+                    out[j] = Math.sqrt(out[j]);
+                } else if (max == 0d) {
+                    out[j] = 0d;
+                } else {
+                    out[j] = ArrayVec.norm2(a, j, rows, cols);
+                }
+            }
+        }
+    }
+
+    /**
+     * 各行の log-summation-exp の計算.
+     * out[i] に log_e [e^{a_i1} + e^{a_i2} + ... ] を格納する.
+     *
+     * <p>
+     * 特殊値の扱いは {@link Exponentiation#logSumExp(double...)} と同じ. <br>
+     * cols = 0 のとき各行の結果は -inf.
+     * </p>
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void rowLogSumExp(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", rows);
+        LogSumExpAccumulator acc = new LogSumExpAccumulator();
+        for (int i = 0; i < rows; i++) {
+            acc.reset();
+            acc.accumulate(a, i * cols, cols);
+            out[i] = acc.result();
+        }
+    }
+
+    /**
+     * 各列の log-summation-exp の計算.
+     * out[j] に log_e [e^{a_1j} + e^{a_2j} + ... ] を格納する.
+     *
+     * <p>
+     * 列のブロックごとに行の順に2回走査し,
+     * 1回目で各列の最大値, 2回目で最大値との差の指数の和を求める. <br>
+     * 特殊値の扱いは {@link Exponentiation#logSumExp(double...)} と同じ. <br>
+     * rows = 0 のとき各列の結果は -inf.
+     * </p>
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param out 結果の格納先 (長さ cols 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void columnLogSumExp(double[] a, int rows, int cols, double[] out) {
+        checkShape(a, rows, cols, out, "out", cols);
+        double[] sums = new double[Math.min(cols, COLUMN_BLOCK)];
+        for (int j0 = 0; j0 < cols; j0 += COLUMN_BLOCK) {
+            int j1 = Math.min(j0 + COLUMN_BLOCK, cols);
+            for (int j = j0; j < j1; j++) {
+                out[j] = Double.NEGATIVE_INFINITY;
+                sums[j - j0] = 0d;
+            }
+            // 行の順に走査する
+            for (int i = 0, rowHead = 0; i < rows; i++, rowHead += cols) {
+                for (int j = j0; j < j1; j++) {
+                    // NaN は Math.max で伝播する
+                    out[j] = Math.max(out[j], a[rowHead + j]);
+                }
+            }
+            for (int i = 0, rowHead = 0; i < rows; i++, rowHead += cols) {
+                for (int j = j0; j < j1; j++) {
+                    // 最大値が非有限の列の和は用いない
+                    sums[j - j0] += Math.exp(a[rowHead + j] - out[j]);
+                }
+            }
+
+            for (int j = j0; j < j1; j++) {
+                double max = out[j];
+                if (Double.isFinite(max)) {
+                    out[j] = max + Math.log(sums[j - j0]);
+                }
+            }
+        }
+    }
+
+    /**
+     * log-semiring における行列ベクトル積:
+     * y_i = log_e [e^{a_i1 + x_1} + e^{a_i2 + x_2} + ... ]
+     * の計算.
+     *
+     * <p>
+     * 行と列のブロックごとに処理し, 各行の (exponent, coeff) の部分結果を
+     * {@link LogSumExpAccumulator} と同じ規則で合成する.
+     * 同じブロックの行の間で x の同じ範囲を再利用するため, x の参照はキャッシュに収まる. <br>
+     * 特殊値の扱いは, a_ij + x_j を要素とする {@link Exponentiation#logSumExp(double...)} と同じ
+     * (a_ij + x_j が +inf + (-inf) となる場合は NaN). <br>
+     * cols = 0 のとき y の各要素は -inf.
+     * </p>
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param x ベクトル (長さ cols 以上)
+     * @param y 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     */
+    public static void logSumExpProduct(double[] a, int rows, int cols, double[] x, double[] y) {
+        checkShape(a, rows, cols, y, "y", rows);
+        checkVectorLength(x, cols);
+        logSumExpProductKernel(a, cols, x, y, 0, rows);
+    }
+
+    /**
+     * log-semiring における行列ベクトル積の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     *
+     * <p>
+     * 行を分割して並列計算する.
+     * 各行の計算は逐次版と同一であるため, 結果は逐次版と一致する.
+     * </p>
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param x ベクトル (長さ cols 以上)
+     * @param y 結果の格納先 (長さ rows 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     * @see #logSumExpProduct(double[], int, int, double[], double[])
+     */
+    public static void logSumExpProductParallel(double[] a, int rows, int cols, double[] x, double[] y) {
+        logSumExpProductParallel(a, rows, cols, x, y, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * log-semiring における行列ベクトル積の, 指定したプールによる並列計算.
+     *
+     * @param a 行列 (行優先)
+     * @param rows 行数
+     * @param cols 列数
+     * @param x ベクトル (長さ cols 以上)
+     * @param y 結果の格納先 (長さ rows 以上)
+     * @param pool 計算に用いる ForkJoinPool
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 行数, 列数が負, 配列の長さが不足する場合
+     * @see #logSumExpProductParallel(double[], int, int, double[], double[])
+     */
+    public static void logSumExpProductParallel(
+            double[] a, int rows, int cols, double[] x, double[] y, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        checkShape(a, rows, cols, y, "y", rows);
+        checkVectorLength(x, cols);
+        if ((long) rows * cols <= PARALLEL_THRESHOLD) {
+            logSumExpProductKernel(a, cols, x, y, 0, rows);
+            return;
+        }
+        pool.invoke(new LogSumExpProductTask(a, cols, x, y, 0, rows));
+    }
+
+    /**
+     * 行 [rowFrom, rowTo) について log-semiring の行列ベクトル積を計算する.
+     */
+    private static void logSumExpProductKernel(
+            double[] a, int cols, double[] x, double[] y, int rowFrom, int rowTo) {
+        LogSumExpAccumulator[] accs = new LogSumExpAccumulator[Math.min(ROW_BLOCK, rowTo - rowFrom)];
+        for (int k = 0; k < accs.length; k++) {
+            accs[k] = new LogSumExpAccumulator();
+        }
+
+        for (int i0 = rowFrom; i0 < rowTo; i0 += ROW_BLOCK) {
+            int i1 = Math.min(i0 + ROW_BLOCK, rowTo);
+            for (int i = i0; i < i1; i++) {
+                accs[i - i0].reset();
+            }
+            for (int j0 = 0; j0 < cols; j0 += COLUMN_BLOCK) {
+                int length = Math.min(COLUMN_BLOCK, cols - j0);
+                for (int i = i0; i < i1; i++) {
+                    accs[i - i0].accumulateSum(a, i * cols + j0, x, j0, length);
+                }
+            }
+            for (int i = i0; i < i1; i++) {
+                y[i] = accs[i - i0].result();
+            }
+        }
+    }
+
+    private static void checkVectorLength(double[] x, int cols) {
+        if (x.length < cols) {
+            throw new IllegalArgumentException(
+                    "x.length < cols: cols = " + cols + ", x.length = " + x.length);
+        }
+    }
+
+    /**
+     * 行列の形状と配列の長さを検証する.
+     */
+    private static void checkShape(double[] a, int rows, int cols, double[] out, String outName, int outLength) {
+        if (rows < 0 || cols < 0) {
+            throw new IllegalArgumentException(
+                    "negative size: rows = " + rows + ", cols = " + cols);
+        }
+        if ((long) rows * cols > a.length) {
+            throw new IllegalArgumentException(
+                    "a.length < rows * cols: rows = " + rows + ", cols = " + cols
+                            + ", a.length = " + a.length);
+        }
+        if (out.length < outLength) {
+            throw new IllegalArgumentException(
+                    outName + ".length < " + outLength + ": " + outName + ".length = " + out.length);
+        }
+    }
+
+    /**
+     * log-semiring の行列ベクトル積の並列計算タスク.
+     */
+    private static final class LogSumExpProductTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] a;
+        private final int cols;
+        private final double[] x;
+        private final double[] y;
+        private final int rowFrom;
+        private final int rowTo;
+
+        LogSumExpProductTask(double[] a, int cols, double[] x, double[] y, int rowFrom, int rowTo) {
+            this.a = a;
+            this.cols = cols;
+            this.x = x;
+            this.y = y;
+            this.rowFrom = rowFrom;
+            this.rowTo = rowTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (rowTo - rowFrom <= 1 || (long) (rowTo - rowFrom) * cols <= PARALLEL_THRESHOLD) {
+                logSumExpProductKernel(a, cols, x, y, rowFrom, rowTo);
+                return;
+            }
+
+            int mid = (rowFrom + rowTo) >>> 1;
+            invokeAll(
+                    new LogSumExpProductTask(a, cols, x, y, rowFrom, mid),
+                    new LogSumExpProductTask(a, cols, x, y, mid, rowTo));
+        }
+    }
+}
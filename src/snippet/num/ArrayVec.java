@@ -4,15 +4,24 @@
  */
 
 /*
- * 2026.1.12
+ * 2026.10.17
  */
 package snippet.num;
 
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * 配列ベクトルに関する数値計算スニペット.
  */
 public final class ArrayVec {
 
+    /**
+     * 並列計算において, これ以下の要素数は分割せずに逐次計算する.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 16;
+
     private ArrayVec() {
         // インスタンス化不可
         throw new AssertionError();
@@ -28,11 +37,26 @@ public final class ArrayVec {
      * @throws NullPointerException null
      */
     public static double normMax(double... x) {
-        double maxValue = 0d;
-        for (double v : x) {
-            maxValue = Math.max(maxValue, Math.abs(v));
-        }
-        return maxValue;
+        return normMaxKernel(x, 0, x.length, 1);
+    }
+
+    /**
+     * 部分ベクトル
+     * (x[offset], x[offset + stride], ..., x[offset + (length - 1) * stride])
+     * の max-norm (inf-norm) の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return max(|x_1|, |x_2|, ...)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     */
+    public static double normMax(double[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        return normMaxKernel(x, offset, length, stride);
     }
 
     /**
@@ -45,11 +69,26 @@ public final class ArrayVec {
      * @throws NullPointerException null
      */
     public static double norm1(double... x) {
-        double sum = 0d;
-        for (double v : x) {
-            sum += Math.abs(v);
-        }
-        return sum;
+        return norm1Kernel(x, 0, x.length, 1);
+    }
+
+    /**
+     * 部分ベクトル
+     * (x[offset], x[offset + stride], ..., x[offset + (length - 1) * stride])
+     * の 1-norm の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return |x_1| + |x_2| + ...
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     */
+    public static double norm1(double[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        return norm1Kernel(x, offset, length, stride);
     }
 
     /**
@@ -62,35 +101,676 @@ public final class ArrayVec {
      * @throws NullPointerException null
      */
     public static double norm2(double... x) {
-        double sum = 0d;
-        double scale = Double.MIN_NORMAL; // 2^(-1022)
-        for (double v : x) {
-            double absV = Math.abs(v);
+        Norm2Accumulator acc = new Norm2Accumulator();
+        acc.accumulate(x, 0, x.length, 1);
+        return acc.result();
+    }
 
-            if (!Double.isFinite(absV)) {
-                return absV;
+    /**
+     * 部分ベクトル
+     * (x[offset], x[offset + stride], ..., x[offset + (length - 1) * stride])
+     * の 2-norm の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     */
+    public static double norm2(double[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        Norm2Accumulator acc = new Norm2Accumulator();
+        acc.accumulate(x, offset, length, stride);
+        return acc.result();
+    }
+
+    /**
+     * 2-norm:
+     * sqrt(|a|^2 + |b|^2)
+     * の計算.
+     * 
+     * <p>
+     * 可変長引数の {@link #norm2(double...)} と同じく,
+     * オーバーフロー, アンダーフローを起こさず,
+     * 非有限値を含む場合は最初に現れた非有限値の絶対値を返す.
+     * 配列を確保しない.
+     * </p>
+     * 
+     * @param a a
+     * @param b b
+     * @return sqrt(|a|^2 + |b|^2)
+     */
+    public static double norm2(double a, double b) {
+        double max = Math.max(Math.abs(a), Math.abs(b));
+        if (max >= 0x1p-460 && max < 0x1p480) {
+            // Norm2Accumulator の高速経路と同じ範囲
+            return Math.sqrt(a * a + b * b);
+        }
+        if (max == 0d) {
+            return 0d;
+        }
+        if (!Double.isFinite(max)) {
+            // NaN は Math.max で伝播する
+            return !Double.isFinite(a) ? Math.abs(a) : Math.abs(b);
+        }
+
+        double scale = powerOfTwoScale(max);
+        double invScale = 1d / scale;
+        double scaledA = a * invScale;
+        double scaledB = b * invScale;
+        return Math.sqrt(scaledA * scaledA + scaledB * scaledB) * scale;
+    }
+
+    /**
+     * 2-norm:
+     * sqrt(|a|^2 + |b|^2 + |c|^2)
+     * の計算.
+     * 
+     * <p>
+     * 可変長引数の {@link #norm2(double...)} と同じく,
+     * オーバーフロー, アンダーフローを起こさず,
+     * 非有限値を含む場合は最初に現れた非有限値の絶対値を返す.
+     * 配列を確保しない.
+     * </p>
+     * 
+     * @param a a
+     * @param b b
+     * @param c c
+     * @return sqrt(|a|^2 + |b|^2 + |c|^2)
+     */
+    public static double norm2(double a, double b, double c) {
+        double max = Math.max(Math.max(Math.abs(a), Math.abs(b)), Math.abs(c));
+        if (max >= 0x1p-460 && max < 0x1p480) {
+            return Math.sqrt(a * a + b * b + c * c);
+        }
+        if (max == 0d) {
+            return 0d;
+        }
+        if (!Double.isFinite(max)) {
+            if (!Double.isFinite(a)) {
+                return Math.abs(a);
             }
+            return !Double.isFinite(b) ? Math.abs(b) : Math.abs(c);
+        }
+
+        double scale = powerOfTwoScale(max);
+        double invScale = 1d / scale;
+        double scaledA = a * invScale;
+        double scaledB = b * invScale;
+        double scaledC = c * invScale;
+        return Math.sqrt(scaledA * scaledA + scaledB * scaledB + scaledC * scaledC) * scale;
+    }
 
-            // neally-equals: 
-            //    Math.scalb(1.0, Math.getExponent(absV))
-            //    or zero
-            double candidateScale =
-                    Double.longBitsToDouble(
-                            Double.doubleToRawLongBits(absV) & 0xFFF0_0000_0000_0000L);
-
-            /*
-             * scale > candidateScale
-             * -> coeff = 1, maintaining scale
-             * 
-             * scale < candidateScale
-             * -> coeff = scale / candidateScale, scale = candidateScales
-             */
-            double coeff = Math.min(1.0, scale / candidateScale);
-            scale = Math.max(scale, candidateScale);
-
-            double scaledAbsV = absV / scale;
-            sum = sum * coeff * coeff + scaledAbsV * scaledAbsV;
-        }
-        return Math.sqrt(sum) * scale;
+    /**
+     * 2-norm:
+     * sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     * 
+     * <p>
+     * 配列を区間に分割して (scale, sum) の部分結果を計算し,
+     * それらを逐次版と同じ再スケーリング規則で合成する.
+     * オーバーフロー, アンダーフローへの耐性は逐次版と同等であるが,
+     * 加算順序の違いにより結果は丸め誤差の範囲で異なりうる.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     * @see #norm2(double...)
+     */
+    public static double norm2Parallel(double[] x) {
+        return norm2Parallel(x, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 2-norm:
+     * sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * の, 指定したプールによる並列計算.
+     * 
+     * @param x x_1, x_2, ...
+     * @param pool 計算に用いる ForkJoinPool
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     * @see #norm2Parallel(double[])
+     */
+    public static double norm2Parallel(double[] x, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        if (x.length <= PARALLEL_THRESHOLD) {
+            return norm2(x);
+        }
+        return pool.invoke(new Norm2Task(x, 0, x.length)).result();
+    }
+
+    /**
+     * 総和:
+     * x_1 + x_2 + ...
+     * の計算.
+     * 
+     * @param x x_1, x_2, ...
+     * @return x_1 + x_2 + ...
+     * @throws NullPointerException null
+     */
+    public static double sum(double... x) {
+        final int len = x.length;
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int j = 0;
+        for (int end = len - 3; j < end; j += 4) {
+            sum0 += x[j];
+            sum1 += x[j + 1];
+            sum2 += x[j + 2];
+            sum3 += x[j + 3];
+        }
+        for (; j < len; j++) {
+            sum0 += x[j];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * 補償付き総和:
+     * x_1 + x_2 + ...
+     * の計算.
+     * 
+     * <p>
+     * Ogita-Rump-Oishi の Sum2 (TwoSum による誤差の補償) を用いる.
+     * 結果は倍の精度で計算して丸めた程度の精度を持ち, 誤差は
+     * eps |s| + (n eps)^2 (|x_1| + |x_2| + ...) 程度で抑えられる
+     * (eps = 2^(-53), s は真の和). <br>
+     * 途中でオーバーフローした場合は, 補償しない和を返す.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return x_1 + x_2 + ...
+     * @throws NullPointerException null
+     */
+    public static double sumCompensated(double... x) {
+        final int len = x.length;
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        double comp0 = 0d;
+        double comp1 = 0d;
+        double comp2 = 0d;
+        double comp3 = 0d;
+        int j = 0;
+        for (int end = len - 3; j < end; j += 4) {
+            double v0 = x[j];
+            double v1 = x[j + 1];
+            double v2 = x[j + 2];
+            double v3 = x[j + 3];
+
+            double t0 = sum0 + v0;
+            double t1 = sum1 + v1;
+            double t2 = sum2 + v2;
+            double t3 = sum3 + v3;
+            comp0 += twoSumError(sum0, v0, t0);
+            comp1 += twoSumError(sum1, v1, t1);
+            comp2 += twoSumError(sum2, v2, t2);
+            comp3 += twoSumError(sum3, v3, t3);
+            sum0 = t0;
+            sum1 = t1;
+            sum2 = t2;
+            sum3 = t3;
+        }
+        for (; j < len; j++) {
+            double v = x[j];
+            double t = sum0 + v;
+            comp0 += twoSumError(sum0, v, t);
+            sum0 = t;
+        }
+
+        return combineCompensated(sum0, sum1, sum2, sum3, (comp0 + comp1) + (comp2 + comp3));
+    }
+
+    /**
+     * 内積:
+     * x_1 y_1 + x_2 y_2 + ...
+     * の計算.
+     * 
+     * @param x x_1, x_2, ...
+     * @param y y_1, y_2, ...
+     * @return x_1 y_1 + x_2 y_2 + ...
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と y の長さが異なる場合
+     */
+    public static double dot(double[] x, double[] y) {
+        checkSameLength(x, y);
+        final int len = x.length;
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int j = 0;
+        for (int end = len - 3; j < end; j += 4) {
+            sum0 += x[j] * y[j];
+            sum1 += x[j + 1] * y[j + 1];
+            sum2 += x[j + 2] * y[j + 2];
+            sum3 += x[j + 3] * y[j + 3];
+        }
+        for (; j < len; j++) {
+            sum0 += x[j] * y[j];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * 補償付き内積:
+     * x_1 y_1 + x_2 y_2 + ...
+     * の計算.
+     * 
+     * <p>
+     * Ogita-Rump-Oishi の Dot2 (TwoProduct, TwoSum による誤差の補償) を用いる.
+     * TwoProduct は Dekker の分割による (Java 8 に fma は無いため).
+     * 結果は倍の精度で計算して丸めた程度の精度を持ち, 誤差は
+     * eps |s| + (n eps)^2 (|x_1 y_1| + |x_2 y_2| + ...) 程度で抑えられる
+     * (eps = 2^(-53), s は真の内積). <br>
+     * 分割が正しく行えるのは |x_i|, |y_i| が 2^995 程度以下の場合であり,
+     * そうでない場合や途中でオーバーフローした場合は, 補償しない和を返す. <br>
+     * また, TwoProduct の誤差項が正確であるのは |x_i y_i| が 2^(-969) 程度以上の場合である.
+     * 積がそれより小さい (誤差項が非正規化数の範囲となる) 場合は誤差項が丸められ,
+     * 上記の誤差の評価は成り立たない (アンダーフローは検出しない).
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param y y_1, y_2, ...
+     * @return x_1 y_1 + x_2 y_2 + ...
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と y の長さが異なる場合
+     */
+    public static double dotCompensated(double[] x, double[] y) {
+        checkSameLength(x, y);
+        final int len = x.length;
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        double comp0 = 0d;
+        double comp1 = 0d;
+        double comp2 = 0d;
+        double comp3 = 0d;
+        int j = 0;
+        for (int end = len - 3; j < end; j += 4) {
+            double p0 = x[j] * y[j];
+            double p1 = x[j + 1] * y[j + 1];
+            double p2 = x[j + 2] * y[j + 2];
+            double p3 = x[j + 3] * y[j + 3];
+
+            double t0 = sum0 + p0;
+            double t1 = sum1 + p1;
+            double t2 = sum2 + p2;
+            double t3 = sum3 + p3;
+            comp0 += twoSumError(sum0, p0, t0) + productError(x[j], y[j], p0);
+            comp1 += twoSumError(sum1, p1, t1) + productError(x[j + 1], y[j + 1], p1);
+            comp2 += twoSumError(sum2, p2, t2) + productError(x[j + 2], y[j + 2], p2);
+            comp3 += twoSumError(sum3, p3, t3) + productError(x[j + 3], y[j + 3], p3);
+            sum0 = t0;
+            sum1 = t1;
+            sum2 = t2;
+            sum3 = t3;
+        }
+        for (; j < len; j++) {
+            double p = x[j] * y[j];
+            double t = sum0 + p;
+            comp0 += twoSumError(sum0, p, t) + productError(x[j], y[j], p);
+            sum0 = t;
+        }
+
+        return combineCompensated(sum0, sum1, sum2, sum3, (comp0 + comp1) + (comp2 + comp3));
+    }
+
+    /**
+     * y := a x + y の計算.
+     * 
+     * @param a a
+     * @param x x_1, x_2, ...
+     * @param y y_1, y_2, ... (結果で上書きされる)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と y の長さが異なる場合
+     */
+    public static void axpy(double a, double[] x, double[] y) {
+        checkSameLength(x, y);
+        for (int j = 0, len = x.length; j < len; j++) {
+            y[j] += a * x[j];
+        }
+    }
+
+    /**
+     * float 配列の max-norm (inf-norm):
+     * max(|x_1|, |x_2|, ...)
+     * の計算.
+     * 
+     * @param x x_1, x_2, ...
+     * @return max(|x_1|, |x_2|, ...)
+     * @throws NullPointerException null
+     */
+    public static float normMax(float[] x) {
+        return normMaxKernel(x, 0, x.length, 1);
+    }
+
+    /**
+     * float 配列の部分ベクトルの max-norm (inf-norm) の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return max(|x_1|, |x_2|, ...)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     * @see #normMax(double[], int, int, int)
+     */
+    public static float normMax(float[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        return normMaxKernel(x, offset, length, stride);
+    }
+
+    /**
+     * float 配列の 1-norm:
+     * |x_1| + |x_2| + ...
+     * の計算.
+     * 
+     * <p>
+     * 和は double で計算し, 最後に float に丸める.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return |x_1| + |x_2| + ...
+     * @throws NullPointerException null
+     */
+    public static float norm1(float[] x) {
+        return norm1Kernel(x, 0, x.length, 1);
+    }
+
+    /**
+     * float 配列の部分ベクトルの 1-norm の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return |x_1| + |x_2| + ...
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     * @see #norm1(float[])
+     */
+    public static float norm1(float[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        return norm1Kernel(x, offset, length, stride);
+    }
+
+    /**
+     * float 配列の 2-norm:
+     * sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * の計算.
+     * 
+     * <p>
+     * float の二乗は double で正確に表現でき, 二乗和も double の範囲で
+     * オーバーフロー, アンダーフローしないため, スケーリングは不要である.
+     * 二乗和を double で計算し, 最後に float に丸める.
+     * 非有限値を含む場合は, 最初に現れた非有限値の絶対値を返す.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     */
+    public static float norm2(float[] x) {
+        return norm2Kernel(x, 0, x.length, 1);
+    }
+
+    /**
+     * float 配列の部分ベクトルの 2-norm の計算.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @param stride 要素間隔 (正)
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException length が負, stride が正でない場合
+     * @throws IndexOutOfBoundsException 部分ベクトルが配列の範囲外の場合
+     * @see #norm2(float[])
+     */
+    public static float norm2(float[] x, int offset, int length, int stride) {
+        checkRange(x.length, offset, length, stride);
+        return norm2Kernel(x, offset, length, stride);
+    }
+
+    /**
+     * 正の有限値 max 以下の最大の2の累乗 (2^(-1022) 以上) を返す.
+     * 1/scale も正確に表現できる.
+     */
+    private static double powerOfTwoScale(double max) {
+        return Math.max(
+                Double.MIN_NORMAL,
+                Double.longBitsToDouble(
+                        Double.doubleToRawLongBits(max) & 0xFFF0_0000_0000_0000L));
+    }
+
+    private static void checkSameLength(double[] x, double[] y) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: x.length = " + x.length + ", y.length = " + y.length);
+        }
+    }
+
+    /**
+     * TwoProduct の誤差項: a * b - p (p = fl(a * b)) を返す.
+     * Dekker の分割 (2^27 + 1 倍) による.
+     */
+    private static double productError(double a, double b, double p) {
+        final double SPLITTER = 0x1p27 + 1d;
+
+        double ca = SPLITTER * a;
+        double aHigh = ca - (ca - a);
+        double aLow = a - aHigh;
+        double cb = SPLITTER * b;
+        double bHigh = cb - (cb - b);
+        double bLow = b - bHigh;
+        return aLow * bLow - (((p - aHigh * bHigh) - aLow * bHigh) - aHigh * bLow);
+    }
+
+    /**
+     * TwoSum の誤差項: a + b - t (t = fl(a + b)) を返す.
+     */
+    private static double twoSumError(double a, double b, double t) {
+        double z = t - a;
+        return (a - (t - z)) + (b - z);
+    }
+
+    /**
+     * 4本の部分和と補償項の合計を, TwoSum で誤差を補償しながら合成する.
+     * 補償項が有限でない場合 (オーバーフロー, 分割の失敗など) は補償しない和を返す.
+     */
+    private static double combineCompensated(
+            double sum0, double sum1, double sum2, double sum3, double comp) {
+        double sum01 = sum0 + sum1;
+        double sum23 = sum2 + sum3;
+        double sum = sum01 + sum23;
+        comp += twoSumError(sum0, sum1, sum01)
+                + twoSumError(sum2, sum3, sum23)
+                + twoSumError(sum01, sum23, sum);
+        return Double.isFinite(comp) ? sum + comp : sum;
+    }
+
+    /**
+     * 部分ベクトルの指定が配列に収まるかを検証する.
+     */
+    private static void checkRange(int arrayLength, int offset, int length, int stride) {
+        if (length < 0) {
+            throw new IllegalArgumentException("length < 0: length = " + length);
+        }
+        if (stride <= 0) {
+            throw new IllegalArgumentException("stride <= 0: stride = " + stride);
+        }
+        // 最後の要素のインデックス (int のオーバーフローを避けるため long で計算)
+        long last = offset + (long) (length - 1) * stride;
+        if (offset < 0 || (length == 0 ? offset > arrayLength : last >= arrayLength)) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", stride = " + stride + ", array length = " + arrayLength);
+        }
+    }
+
+    private static double normMaxKernel(double[] x, int offset, int length, int stride) {
+        // 独立な4本のアキュムレータに分けて依存チェーンを短くする
+        // (JIT による展開, ベクトル化を想定)
+        double max0 = 0d;
+        double max1 = 0d;
+        double max2 = 0d;
+        double max3 = 0d;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            max0 = Math.max(max0, Math.abs(x[p]));
+            max1 = Math.max(max1, Math.abs(x[p + stride]));
+            max2 = Math.max(max2, Math.abs(x[p + 2 * stride]));
+            max3 = Math.max(max3, Math.abs(x[p + 3 * stride]));
+        }
+        for (; k < length; k++, p += stride) {
+            max0 = Math.max(max0, Math.abs(x[p]));
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    private static double norm1Kernel(double[] x, int offset, int length, int stride) {
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            sum0 += Math.abs(x[p]);
+            sum1 += Math.abs(x[p + stride]);
+            sum2 += Math.abs(x[p + 2 * stride]);
+            sum3 += Math.abs(x[p + 3 * stride]);
+        }
+        for (; k < length; k++, p += stride) {
+            sum0 += Math.abs(x[p]);
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    private static float normMaxKernel(float[] x, int offset, int length, int stride) {
+        float max0 = 0f;
+        float max1 = 0f;
+        float max2 = 0f;
+        float max3 = 0f;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            max0 = Math.max(max0, Math.abs(x[p]));
+            max1 = Math.max(max1, Math.abs(x[p + stride]));
+            max2 = Math.max(max2, Math.abs(x[p + 2 * stride]));
+            max3 = Math.max(max3, Math.abs(x[p + 3 * stride]));
+        }
+        for (; k < length; k++, p += stride) {
+            max0 = Math.max(max0, Math.abs(x[p]));
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    private static float norm1Kernel(float[] x, int offset, int length, int stride) {
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            sum0 += Math.abs(x[p]);
+            sum1 += Math.abs(x[p + stride]);
+            sum2 += Math.abs(x[p + 2 * stride]);
+            sum3 += Math.abs(x[p + 3 * stride]);
+        }
+        for (; k < length; k++, p += stride) {
+            sum0 += Math.abs(x[p]);
+        }
+        return (float) ((sum0 + sum1) + (sum2 + sum3));
+    }
+
+    private static float norm2Kernel(float[] x, int offset, int length, int stride) {
+        // float の二乗は double で正確 (仮数部 24bit * 2 <= 53bit) であり,
+        // 2^(-298) <= v^2 <= 2^256 なので二乗和はスケーリング不要.
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            double v0 = x[p];
+            double v1 = x[p + stride];
+            double v2 = x[p + 2 * stride];
+            double v3 = x[p + 3 * stride];
+            sum0 += v0 * v0;
+            sum1 += v1 * v1;
+            sum2 += v2 * v2;
+            sum3 += v3 * v3;
+        }
+        for (; k < length; k++, p += stride) {
+            double v = x[p];
+            sum0 += v * v;
+        }
+        double sum = (sum0 + sum1) + (sum2 + sum3);
+
+        if (!Double.isFinite(sum)) {
+            // double 版と同様に, 最初に現れた非有限値を返す
+            for (k = 0, p = offset; k < length; k++, p += stride) {
+                if (!Float.isFinite(x[p])) {
+                    return Math.abs(x[p]);
+                }
+            }
+        }
+        return (float) Math.sqrt(sum);
+    }
+
+    /**
+     * 2-norm の並列計算タスク.
+     */
+    private static final class Norm2Task extends RecursiveTask<Norm2Accumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] x;
+        private final int from;
+        private final int to;
+
+        Norm2Task(double[] x, int from, int to) {
+            this.x = x;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected Norm2Accumulator compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                Norm2Accumulator acc = new Norm2Accumulator();
+                acc.accumulate(x, from, to - from, 1);
+                return acc;
+            }
+
+            int mid = (from + to) >>> 1;
+            Norm2Task left = new Norm2Task(x, from, mid);
+            Norm2Task right = new Norm2Task(x, mid, to);
+            left.fork();
+            Norm2Accumulator rightResult = right.compute();
+            Norm2Accumulator leftResult = left.join();
+
+            // 左側を先として合成し, 最初に現れた非有限値を保持する
+            leftResult.merge(rightResult);
+            return leftResult;
+        }
     }
 }
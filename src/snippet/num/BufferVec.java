@@ -0,0 +1,215 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * バッファ, ファイルに格納されたベクトルに関する数値計算スニペット.
+ *
+ * <p>
+ * {@link DoubleBuffer} を引数とするメソッドは, position から limit までの要素を対象とし,
+ * バッファの position, limit, mark は変更しない.
+ * </p>
+ *
+ * <p>
+ * {@link Path} を引数とするメソッドは, ファイルを little-endian の double の並びとみなす.
+ * ファイルは {@link FileChannel#map} により領域ごとにメモリマップして先頭から走査し,
+ * ヒープ上には固定長の作業用配列のみを確保する.
+ * マップした領域の解放は GC による.
+ * </p>
+ *
+ * @see ArrayVec
+ */
+public final class BufferVec {
+
+    /**
+     * ダイレクトバッファから一度に作業用配列へ読み込む要素数.
+     */
+    private static final int CHUNK_LENGTH = 1 << 12;
+
+    /**
+     * ファイルを一度にメモリマップするバイト数 (8 の倍数).
+     */
+    private static final long MAP_SIZE = 1L << 27;
+
+    private BufferVec() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * max-norm (inf-norm):
+     * max(|x_1|, |x_2|, ...)
+     * の計算.
+     *
+     * @param x x_1, x_2, ... (position から limit まで)
+     * @return max(|x_1|, |x_2|, ...)
+     * @throws NullPointerException null
+     */
+    public static double normMax(DoubleBuffer x) {
+        if (x.hasArray()) {
+            return ArrayVec.normMax(x.array(), x.arrayOffset() + x.position(), x.remaining(), 1);
+        }
+
+        DoubleBuffer src = x.duplicate();
+        double[] chunk = new double[Math.min(CHUNK_LENGTH, src.remaining())];
+        double maxValue = 0d;
+        while (src.hasRemaining()) {
+            int length = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, length);
+            maxValue = Math.max(maxValue, ArrayVec.normMax(chunk, 0, length, 1));
+        }
+        return maxValue;
+    }
+
+    /**
+     * 1-norm:
+     * |x_1| + |x_2| + ...
+     * の計算.
+     *
+     * @param x x_1, x_2, ... (position から limit まで)
+     * @return |x_1| + |x_2| + ...
+     * @throws NullPointerException null
+     */
+    public static double norm1(DoubleBuffer x) {
+        if (x.hasArray()) {
+            return ArrayVec.norm1(x.array(), x.arrayOffset() + x.position(), x.remaining(), 1);
+        }
+
+        DoubleBuffer src = x.duplicate();
+        double[] chunk = new double[Math.min(CHUNK_LENGTH, src.remaining())];
+        double sum = 0d;
+        while (src.hasRemaining()) {
+            int length = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, length);
+            sum += ArrayVec.norm1(chunk, 0, length, 1);
+        }
+        return sum;
+    }
+
+    /**
+     * 2-norm:
+     * sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * の計算.
+     *
+     * @param x x_1, x_2, ... (position から limit まで)
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     */
+    public static double norm2(DoubleBuffer x) {
+        Norm2Accumulator acc = new Norm2Accumulator();
+        accumulateNorm2(x, acc);
+        return acc.result();
+    }
+
+    /**
+     * ファイルに格納されたベクトルの max-norm (inf-norm) の計算.
+     *
+     * @param file little-endian の double の並びからなるファイル
+     * @return max(|x_1|, |x_2|, ...)
+     * @throws NullPointerException null
+     * @throws IOException 入出力エラーが発生した場合,
+     *             ファイルサイズが 8 の倍数でない場合
+     */
+    public static double normMax(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = checkedSize(channel, file);
+            double maxValue = 0d;
+            for (long position = 0; position < size; position += MAP_SIZE) {
+                maxValue = Math.max(maxValue, normMax(map(channel, position, size)));
+            }
+            return maxValue;
+        }
+    }
+
+    /**
+     * ファイルに格納されたベクトルの 1-norm の計算.
+     *
+     * @param file little-endian の double の並びからなるファイル
+     * @return |x_1| + |x_2| + ...
+     * @throws NullPointerException null
+     * @throws IOException 入出力エラーが発生した場合,
+     *             ファイルサイズが 8 の倍数でない場合
+     */
+    public static double norm1(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = checkedSize(channel, file);
+            double sum = 0d;
+            for (long position = 0; position < size; position += MAP_SIZE) {
+                sum += norm1(map(channel, position, size));
+            }
+            return sum;
+        }
+    }
+
+    /**
+     * ファイルに格納されたベクトルの 2-norm の計算.
+     *
+     * <p>
+     * 領域をまたいで (scale, sum) の状態を引き継ぐため,
+     * オーバーフロー, アンダーフローへの耐性は {@link ArrayVec#norm2(double...)} と同等である.
+     * </p>
+     *
+     * @param file little-endian の double の並びからなるファイル
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     * @throws IOException 入出力エラーが発生した場合,
+     *             ファイルサイズが 8 の倍数でない場合
+     */
+    public static double norm2(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long size = checkedSize(channel, file);
+            Norm2Accumulator acc = new Norm2Accumulator();
+            for (long position = 0; position < size; position += MAP_SIZE) {
+                accumulateNorm2(map(channel, position, size), acc);
+            }
+            return acc.result();
+        }
+    }
+
+    private static void accumulateNorm2(DoubleBuffer x, Norm2Accumulator acc) {
+        if (x.hasArray()) {
+            acc.addAll(x.array(), x.arrayOffset() + x.position(), x.remaining());
+            return;
+        }
+
+        DoubleBuffer src = x.duplicate();
+        double[] chunk = new double[Math.min(CHUNK_LENGTH, src.remaining())];
+        while (src.hasRemaining()) {
+            int length = Math.min(chunk.length, src.remaining());
+            src.get(chunk, 0, length);
+            acc.addAll(chunk, 0, length);
+        }
+    }
+
+    private static long checkedSize(FileChannel channel, Path file) throws IOException {
+        long size = channel.size();
+        if (size % Double.BYTES != 0) {
+            throw new IOException(
+                    "file size is not a multiple of " + Double.BYTES + ": " + file + ", size = " + size);
+        }
+        return size;
+    }
+
+    /**
+     * position から最大 MAP_SIZE バイトをメモリマップし, DoubleBuffer として返す.
+     */
+    private static DoubleBuffer map(FileChannel channel, long position, long size) throws IOException {
+        long length = Math.min(MAP_SIZE, size - position);
+        return channel.map(FileChannel.MapMode.READ_ONLY, position, length)
+                .order(ByteOrder.LITTLE_ENDIAN)
+                .asDoubleBuffer();
+    }
+}
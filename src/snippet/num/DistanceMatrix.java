@@ -0,0 +1,428 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 点集合の対ごとのユークリッド距離 (距離行列) に関する数値計算スニペット.
+ *
+ * <p>
+ * n 個の dim 次元の点は行優先で1次元配列に格納されているとし,
+ * i 番目の点の k 番目の座標は points[i * dim + k] に格納されているとする.
+ * 配列 points の長さは n * dim 以上でなければならない.
+ * </p>
+ *
+ * <p>
+ * 結果の形式は次の2種類である.
+ * </p>
+ * <ul>
+ * <li>full: n 行 n 列の対称行列 (行優先). (i, j) 成分は out[i * n + j]. 対角成分は 0.</li>
+ * <li>condensed: 上三角部分 (i &lt; j) のみを行の順に並べた長さ n(n-1)/2 の配列.
+ * (i, j) 成分は out[n * i - i * (i + 1) / 2 + (j - i - 1)].</li>
+ * </ul>
+ *
+ * <p>
+ * 点の組はタイル (点のブロックの組) ごとに処理し,
+ * 内側のループで参照する点のブロックがキャッシュに収まるようにする.
+ * 並列版はタイルの行を ForkJoinPool のタスクとして分配する.
+ * 各点の組の距離は同一の計算で求めるため, 並列版の結果は逐次版と一致する.
+ * </p>
+ *
+ * @see ArrayVec#norm2(double...)
+ */
+public final class DistanceMatrix {
+
+    /**
+     * 1タイルのブロックに含める座標の総数の目安.
+     */
+    private static final int BLOCK_ELEMENTS = 1 << 12;
+
+    /**
+     * 並列計算を行う計算量 (n * n * dim) の下限.
+     */
+    private static final long PARALLEL_THRESHOLD = 1L << 20;
+
+    /**
+     * 距離の計算方法.
+     */
+    public enum Method {
+
+        /**
+         * 差のベクトルの 2-norm により計算する. <br>
+         * 結果の精度, オーバーフロー, アンダーフローへの耐性は
+         * {@link ArrayVec#norm2(double...)} と同等である.
+         * 非有限値を含む場合の結果も同様であり,
+         * 最初に現れた非有限な差の絶対値となる.
+         */
+        EXACT,
+
+        /**
+         * sqrt(||a||^2 + ||b||^2 - 2 a・b) により計算する. <br>
+         * 点の2乗ノルムを事前に計算しておき, 点の組ごとには内積のみを計算するため高速である.
+         * ただし, 近接した点の組では桁落ちにより相対誤差が大きくなる
+         * (絶対誤差は max(||a||, ||b||) * sqrt(dim * ε) 程度).
+         * 桁落ちで負になった値は 0 とする.
+         * スケーリングは行わないため, 座標の2乗和がオーバーフロー, アンダーフローする場合や
+         * 非有限値を含む場合の結果は保証されない.
+         */
+        FAST
+    }
+
+    private DistanceMatrix() {
+        // インスタンス化不可
+        throw new AssertionError();
+    }
+
+    /**
+     * 距離行列を full 形式 (n 行 n 列) で計算する.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n * n 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     */
+    public static void full(double[] points, int n, int dim, Method method, double[] out) {
+        checkShape(points, n, dim, method, out, fullLength(n));
+        new Job(points, n, dim, method, out, false).computeTileRows(0, tileCount(n, dim));
+    }
+
+    /**
+     * 距離行列を full 形式 (n 行 n 列) で並列計算する. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n * n 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     * @see #full(double[], int, int, Method, double[])
+     */
+    public static void fullParallel(double[] points, int n, int dim, Method method, double[] out) {
+        fullParallel(points, n, dim, method, out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 距離行列を full 形式 (n 行 n 列) で, 指定したプールにより並列計算する.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n * n 以上)
+     * @param pool 計算に用いる ForkJoinPool
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     * @see #full(double[], int, int, Method, double[])
+     */
+    public static void fullParallel(
+            double[] points, int n, int dim, Method method, double[] out, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        checkShape(points, n, dim, method, out, fullLength(n));
+        invoke(new Job(points, n, dim, method, out, false), pool);
+    }
+
+    /**
+     * 距離行列を condensed 形式 (長さ n(n-1)/2) で計算する.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n(n-1)/2 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     */
+    public static void condensed(double[] points, int n, int dim, Method method, double[] out) {
+        checkShape(points, n, dim, method, out, condensedLength(n));
+        new Job(points, n, dim, method, out, true).computeTileRows(0, tileCount(n, dim));
+    }
+
+    /**
+     * 距離行列を condensed 形式 (長さ n(n-1)/2) で並列計算する. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n(n-1)/2 以上)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     * @see #condensed(double[], int, int, Method, double[])
+     */
+    public static void condensedParallel(double[] points, int n, int dim, Method method, double[] out) {
+        condensedParallel(points, n, dim, method, out, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 距離行列を condensed 形式 (長さ n(n-1)/2) で, 指定したプールにより並列計算する.
+     *
+     * @param points 点の座標 (行優先)
+     * @param n 点の数
+     * @param dim 次元
+     * @param method 計算方法
+     * @param out 結果の格納先 (長さ n(n-1)/2 以上)
+     * @param pool 計算に用いる ForkJoinPool
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 点の数, 次元が負, 配列の長さが不足する場合
+     * @see #condensed(double[], int, int, Method, double[])
+     */
+    public static void condensedParallel(
+            double[] points, int n, int dim, Method method, double[] out, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        checkShape(points, n, dim, method, out, condensedLength(n));
+        invoke(new Job(points, n, dim, method, out, true), pool);
+    }
+
+    private static void invoke(Job job, ForkJoinPool pool) {
+        int tileCount = tileCount(job.n, job.dim);
+        if ((long) job.n * job.n * Math.max(job.dim, 1) <= PARALLEL_THRESHOLD) {
+            job.computeTileRows(0, tileCount);
+            return;
+        }
+        pool.invoke(new TileRowsTask(job, 0, tileCount));
+    }
+
+    private static long fullLength(int n) {
+        return (long) n * n;
+    }
+
+    private static long condensedLength(int n) {
+        return (long) n * (n - 1) / 2;
+    }
+
+    /**
+     * 1ブロックの点の数.
+     */
+    private static int tileSize(int dim) {
+        return Math.max(1, BLOCK_ELEMENTS / Math.max(dim, 1));
+    }
+
+    private static int tileCount(int n, int dim) {
+        int tileSize = tileSize(dim);
+        return (int) (((long) n + tileSize - 1) / tileSize);
+    }
+
+    /**
+     * 点集合の形状と配列の長さを検証する.
+     */
+    private static void checkShape(
+            double[] points, int n, int dim, Method method, double[] out, long outLength) {
+        Objects.requireNonNull(method);
+        if (n < 0 || dim < 0) {
+            throw new IllegalArgumentException(
+                    "negative size: n = " + n + ", dim = " + dim);
+        }
+        if ((long) n * dim > points.length) {
+            throw new IllegalArgumentException(
+                    "points.length < n * dim: n = " + n + ", dim = " + dim
+                            + ", points.length = " + points.length);
+        }
+        if (out.length < outLength) {
+            throw new IllegalArgumentException(
+                    "out.length < " + outLength + ": out.length = " + out.length);
+        }
+    }
+
+    /**
+     * 2点 points[a...], points[b...] の距離を差のベクトルの 2-norm により計算する.
+     * a, b は先頭座標のインデックス.
+     */
+    private static double exactDistance(double[] points, int a, int b, int dim) {
+        // 高速経路: Norm2Accumulator と同じく, スケーリングせずに二乗和と最大絶対値を求める
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        double max0 = 0d;
+        double max1 = 0d;
+        double max2 = 0d;
+        double max3 = 0d;
+        int k = 0;
+        for (int end = dim - 3; k < end; k += 4) {
+            double d0 = points[a + k] - points[b + k];
+            double d1 = points[a + k + 1] - points[b + k + 1];
+            double d2 = points[a + k + 2] - points[b + k + 2];
+            double d3 = points[a + k + 3] - points[b + k + 3];
+            sum0 += d0 * d0;
+            sum1 += d1 * d1;
+            sum2 += d2 * d2;
+            sum3 += d3 * d3;
+            max0 = Math.max(max0, Math.abs(d0));
+            max1 = Math.max(max1, Math.abs(d1));
+            max2 = Math.max(max2, Math.abs(d2));
+            max3 = Math.max(max3, Math.abs(d3));
+        }
+        for (; k < dim; k++) {
+            double d = points[a + k] - points[b + k];
+            sum0 += d * d;
+            max0 = Math.max(max0, Math.abs(d));
+        }
+        double max = Math.max(Math.max(max0, max1), Math.max(max2, max3));
+
+        if (max >= 0x1p-460 && max < 0x1p480) {
+            return Math.sqrt((sum0 + sum1) + (sum2 + sum3));
+        }
+        if (max == 0d) {
+            return 0d;
+        }
+
+        // 範囲外 (NaN, inf を含む) の場合は, 差をスケーリングしながら計算し直す
+        Norm2Accumulator acc = new Norm2Accumulator();
+        for (k = 0; k < dim; k++) {
+            acc.add(points[a + k] - points[b + k]);
+        }
+        return acc.result();
+    }
+
+    /**
+     * 2点 points[a...], points[b...] の距離を sqrt(||a||^2 + ||b||^2 - 2 a・b) により計算する.
+     */
+    private static double fastDistance(
+            double[] points, int a, int b, int dim, double squareNormA, double squareNormB) {
+        double dot = dotKernel(points, a, b, dim);
+        return Math.sqrt(Math.max(0d, (squareNormA + squareNormB) - 2d * dot));
+    }
+
+    private static double dotKernel(double[] points, int a, int b, int dim) {
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int k = 0;
+        for (int end = dim - 3; k < end; k += 4) {
+            sum0 += points[a + k] * points[b + k];
+            sum1 += points[a + k + 1] * points[b + k + 1];
+            sum2 += points[a + k + 2] * points[b + k + 2];
+            sum3 += points[a + k + 3] * points[b + k + 3];
+        }
+        for (; k < dim; k++) {
+            sum0 += points[a + k] * points[b + k];
+        }
+        return (sum0 + sum1) + (sum2 + sum3);
+    }
+
+    /**
+     * 距離行列の計算の引数と, 事前計算した値をまとめたもの.
+     */
+    private static final class Job {
+
+        final double[] points;
+        final int n;
+        final int dim;
+        final double[] out;
+        final boolean condensed;
+        final int tileSize;
+
+        /**
+         * FAST の場合の各点の2乗ノルム. EXACT の場合は null.
+         */
+        final double[] squareNorms;
+
+        Job(double[] points, int n, int dim, Method method, double[] out, boolean condensed) {
+            this.points = points;
+            this.n = n;
+            this.dim = dim;
+            this.out = out;
+            this.condensed = condensed;
+            this.tileSize = tileSize(dim);
+
+            if (method == Method.FAST) {
+                squareNorms = new double[n];
+                for (int i = 0; i < n; i++) {
+                    squareNorms[i] = dotKernel(points, i * dim, i * dim, dim);
+                }
+            } else {
+                squareNorms = null;
+            }
+        }
+
+        /**
+         * ブロック [tileFrom, tileTo) に属する点 i について,
+         * i &lt;= j であるすべての点の組 (i, j) を計算する.
+         */
+        void computeTileRows(int tileFrom, int tileTo) {
+            for (int bi = tileFrom; bi < tileTo; bi++) {
+                int i0 = bi * tileSize;
+                int i1 = Math.min(i0 + tileSize, n);
+                for (int j0 = i0; j0 < n; j0 += tileSize) {
+                    computeTile(i0, i1, j0, Math.min(j0 + tileSize, n));
+                }
+            }
+        }
+
+        /**
+         * 点の組 (i, j), i0 &lt;= i &lt; i1, j0 &lt;= j &lt; j1, i &lt;= j を計算する.
+         */
+        private void computeTile(int i0, int i1, int j0, int j1) {
+            for (int i = i0; i < i1; i++) {
+                int a = i * dim;
+                int jStart = Math.max(j0, i + 1);
+                // condensed 形式での (i, j) のインデックスは rowBase + j
+                int rowBase = condensed
+                        ? (int) ((long) n * i - (long) i * (i + 1) / 2 - i - 1)
+                        : 0;
+                if (!condensed && j0 <= i && i < j1) {
+                    out[i * n + i] = 0d;
+                }
+                for (int j = jStart; j < j1; j++) {
+                    int b = j * dim;
+                    double distance = squareNorms == null
+                            ? exactDistance(points, a, b, dim)
+                            : fastDistance(points, a, b, dim, squareNorms[i], squareNorms[j]);
+                    if (condensed) {
+                        out[rowBase + j] = distance;
+                    } else {
+                        out[i * n + j] = distance;
+                        out[j * n + i] = distance;
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * ブロック [tileFrom, tileTo) の行を分割して並列計算するタスク.
+     */
+    private static final class TileRowsTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final Job job;
+        private final int tileFrom;
+        private final int tileTo;
+
+        TileRowsTask(Job job, int tileFrom, int tileTo) {
+            this.job = job;
+            this.tileFrom = tileFrom;
+            this.tileTo = tileTo;
+        }
+
+        @Override
+        protected void compute() {
+            if (tileTo - tileFrom <= 1) {
+                job.computeTileRows(tileFrom, tileTo);
+                return;
+            }
+
+            int mid = (tileFrom + tileTo) >>> 1;
+            invokeAll(
+                    new TileRowsTask(job, tileFrom, mid),
+                    new TileRowsTask(job, mid, tileTo));
+        }
+    }
+}
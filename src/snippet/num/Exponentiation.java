@@ -4,15 +4,63 @@
  */
 
 /*
- * 2026.1.4
+ * 2026.10.17
  */
 package snippet.num;
 
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
 /**
  * べき乗, 指数対数の計算に関わる数値計算スニペット.
  */
 public final class Exponentiation {
 
+    /**
+     * 並列計算において, これ以下の要素数は分割せずに逐次計算する.
+     */
+    private static final int PARALLEL_THRESHOLD = 1 << 15;
+
+    /**
+     * 配列の整数乗において, 一度に処理する要素数.
+     */
+    private static final int POW_BLOCK = 256;
+
+    /**
+     * log_e(2).
+     */
+    private static final double LN_2 = 0.6931471805599453;
+
+    /**
+     * 近似指数関数の表の分割数: 2^(j/64) (j = 0, ..., 63).
+     */
+    private static final int EXP_TABLE_BITS = 6;
+    private static final int EXP_TABLE_SIZE = 1 << EXP_TABLE_BITS;
+    private static final double[] EXP_TABLE = new double[EXP_TABLE_SIZE];
+
+    /**
+     * 64/log_e(2).
+     */
+    private static final double INV_LN2_64 = 0x1.71547652b82fep+6;
+
+    /**
+     * log_e(2)/64 の上位部分 (2^17 以下の整数との積は正確) と下位部分.
+     */
+    private static final double LN2_64_HI = 0x1.62e42f8000000p-7;
+    private static final double LN2_64_LO = 0x1.be8e7bcd5e4f2p-33;
+
+    /**
+     * 加えることで, 絶対値が 2^51 未満の値を整数に丸める定数 (1.5 * 2^52).
+     */
+    private static final double ROUNDING_SHIFTER = 0x1.8p52;
+
+    static {
+        for (int j = 0; j < EXP_TABLE_SIZE; j++) {
+            EXP_TABLE[j] = StrictMath.pow(2d, (double) j / EXP_TABLE_SIZE);
+        }
+    }
+
     private Exponentiation() {
         // インスタンス化不可
         throw new AssertionError();
@@ -53,39 +101,743 @@ public final class Exponentiation {
         return exponent + Math.log(coeff);
     }
 
+    /**
+     * log-summation-exp:
+     * log_e [e^a + e^b]
+     * の計算.
+     * 
+     * <p>
+     * 特殊値の扱いは可変長引数の {@link #logSumExp(double...)} と同じ.
+     * 配列を確保しない. <br>
+     * max = max(a, b), min = min(a, b) に対し max + log1p(e^{min - max}) として計算し,
+     * 小さい項が 1 との和の丸めで失われることを避ける.
+     * </p>
+     * 
+     * @param a a
+     * @param b b
+     * @return log_e [e^a + e^b]
+     */
+    public static double logSumExp(double a, double b) {
+        // NaN は Math.max で伝播する
+        double max = Math.max(a, b);
+        if (!Double.isFinite(max)) {
+            // NaN, +inf, または両方が -inf
+            return max;
+        }
+        // 最大値の項は exp(0) = 1 であり, 残りの項 e = exp(min - max) は [0, 1].
+        // 1 + e の丸めにより e が失われないよう, log1p を用いる
+        return max + Math.log1p(Math.exp(Math.min(a, b) - max));
+    }
+
+    /**
+     * log-summation-exp:
+     * log_e [e^a + e^b + e^c]
+     * の計算.
+     * 
+     * <p>
+     * 特殊値の扱いは可変長引数の {@link #logSumExp(double...)} と同じ.
+     * 配列を確保しない. <br>
+     * 最大値の項を除く2項の和に log1p を適用する ({@link #logSumExp(double, double)} と同様).
+     * </p>
+     * 
+     * @param a a
+     * @param b b
+     * @param c c
+     * @return log_e [e^a + e^b + e^c]
+     */
+    public static double logSumExp(double a, double b, double c) {
+        double max = Math.max(Math.max(a, b), c);
+        if (!Double.isFinite(max)) {
+            return max;
+        }
+        // 最大値の項は exp(0) = 1 であり, 残りの2項の和 (最大値の項を除く) は [0, 2].
+        // 1 との和の丸めにより失われないよう, log1p を用いる
+        double rest;
+        if (a == max) {
+            rest = Math.exp(b - max) + Math.exp(c - max);
+        } else if (b == max) {
+            rest = Math.exp(a - max) + Math.exp(c - max);
+        } else {
+            rest = Math.exp(a - max) + Math.exp(b - max);
+        }
+        return max + Math.log1p(rest);
+    }
+
+    /**
+     * log-subtraction-exp:
+     * log_e [e^a - e^b]
+     * の計算.
+     * 
+     * <p>
+     * a &gt;= b でなければならない.
+     * a = b のとき -inf (b = -inf を含む),
+     * a &lt; b または NaN を含む場合は NaN.
+     * a = +inf のとき, b = +inf ならば NaN, それ以外は +inf.
+     * </p>
+     * 
+     * <p>
+     * d = b - a に対して,
+     * d &gt; -log(2) では log(-expm1(d)),
+     * それ以外では log1p(-exp(d)) を用いて桁落ちを避ける.
+     * </p>
+     * 
+     * @param a a
+     * @param b b
+     * @return log_e [e^a - e^b]
+     */
+    public static double logSubExp(double a, double b) {
+        if (b == Double.NEGATIVE_INFINITY) {
+            // e^b = 0 (a が NaN の場合は NaN)
+            return a;
+        }
+        if (!(a >= b)) {
+            // a < b, または NaN
+            return Double.NaN;
+        }
+        if (a == Double.POSITIVE_INFINITY) {
+            return b == Double.POSITIVE_INFINITY ? Double.NaN : Double.POSITIVE_INFINITY;
+        }
+
+        double d = b - a;
+        return d > -LN_2
+                ? a + Math.log(-Math.expm1(d))
+                : a + Math.log1p(-Math.exp(d));
+    }
+
+    /**
+     * 無視できる項を省略する log-summation-exp:
+     * log_e [e^{x_1} + e^{x_2} + ... ]
+     * の計算.
+     * 
+     * <p>
+     * 1パス目で最大値 max を求め, 2パス目では
+     * x_i - max &gt;= -(54 log(2) + log(n)) (n は要素数) を満たす項についてのみ
+     * e^{x_i - max} を計算する. <br>
+     * 省略される項の和は 2^{-54} 未満であり, 1 以上の和に対して丸め誤差の範囲に収まるため,
+     * 精度は {@link #logSumExp(double...)} と同等である.
+     * 少数の要素が支配的な (尖った) 分布の場合, 指数関数の呼び出しの大部分が省略される. <br>
+     * 特殊値の扱いは {@link #logSumExp(double...)} と同じ.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     */
+    public static double logSumExpPruned(double... x) {
+        double max = max(x, 0, x.length);
+        if (!Double.isFinite(max)) {
+            // NaN, +inf, または全要素が -inf (空を含む)
+            return max;
+        }
+
+        // x_i - max < -threshold の項は, n 個の和でも 2^{-54} 未満
+        double threshold = 54 * LN_2 + Math.log(x.length);
+        double lower = max - threshold;
+        double sum = 0d;
+        for (double v : x) {
+            if (v >= lower) {
+                sum += Math.exp(v - max);
+            }
+        }
+        return max + Math.log(sum);
+    }
+
+    /**
+     * 重み付きの log-summation-exp:
+     * log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * の計算.
+     * 
+     * <p>
+     * 重みを ±1 とすれば, 符号付きの和の対数となる.
+     * 和の符号が必要な場合は {@link WeightedLogSumExpAccumulator} を用いる
+     * (アキュムレータを再利用すれば, メモリの確保は生じない).
+     * 並列計算の場合は
+     * {@link #accumulateWeightedParallel(double[], double[], WeightedLogSumExpAccumulator, ForkJoinPool)}
+     * を用いる. <br>
+     * 特殊値の扱いは {@link WeightedLogSumExpAccumulator} と同じ.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param w w_1, w_2, ...
+     * @return log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と w の長さが異なる場合
+     */
+    public static double logSumExpWeighted(double[] x, double[] w) {
+        checkWeightLength(x, w);
+        WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+        acc.addAll(x, 0, w, 0, x.length);
+        return acc.logAbs();
+    }
+
+    /**
+     * 重み付きの log-summation-exp:
+     * log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     * 
+     * @param x x_1, x_2, ...
+     * @param w w_1, w_2, ...
+     * @return log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と w の長さが異なる場合
+     * @see #logSumExpWeighted(double[], double[])
+     */
+    public static double logSumExpWeightedParallel(double[] x, double[] w) {
+        return logSumExpWeightedParallel(x, w, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 重み付きの log-summation-exp:
+     * log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * の並列計算.
+     * 
+     * <p>
+     * 配列を区間に分割し, 区間ごとの {@link WeightedLogSumExpAccumulator} を
+     * {@link WeightedLogSumExpAccumulator#merge(WeightedLogSumExpAccumulator)} により合成する.
+     * 加算順序の違いにより, 結果は逐次版と丸め誤差の範囲で異なりうる.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param w w_1, w_2, ...
+     * @param pool 計算に用いるプール
+     * @return log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と w の長さが異なる場合
+     * @see #logSumExpWeighted(double[], double[])
+     */
+    public static double logSumExpWeightedParallel(double[] x, double[] w, ForkJoinPool pool) {
+        WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+        accumulateWeightedParallel(x, w, acc, pool);
+        return acc.logAbs();
+    }
+
+    /**
+     * 項 w_1 e^{x_1}, w_2 e^{x_2}, ... を並列に集計し, アキュムレータに合成する. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     * 
+     * @param x x_1, x_2, ...
+     * @param w w_1, w_2, ...
+     * @param acc 結果を合成するアキュムレータ
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と w の長さが異なる場合
+     * @see #accumulateWeightedParallel(double[], double[], WeightedLogSumExpAccumulator, ForkJoinPool)
+     */
+    public static void accumulateWeightedParallel(double[] x, double[] w, WeightedLogSumExpAccumulator acc) {
+        accumulateWeightedParallel(x, w, acc, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 項 w_1 e^{x_1}, w_2 e^{x_2}, ... を並列に集計し, アキュムレータに合成する.
+     * 
+     * <p>
+     * 和の符号が必要な場合の, {@link #logSumExpWeightedParallel(double[], double[], ForkJoinPool)} の代わりである.
+     * 計算後, {@link WeightedLogSumExpAccumulator#logAbs()} と
+     * {@link WeightedLogSumExpAccumulator#signum()} により結果を得る.
+     * acc がすでに保持している項は維持される. <br>
+     * 配列を区間に分割し, 区間ごとの {@link WeightedLogSumExpAccumulator} を
+     * {@link WeightedLogSumExpAccumulator#merge(WeightedLogSumExpAccumulator)} により合成する.
+     * 加算順序の違いにより, 結果は逐次的な {@link WeightedLogSumExpAccumulator#addAll} と
+     * 丸め誤差の範囲で異なりうる.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param w w_1, w_2, ...
+     * @param acc 結果を合成するアキュムレータ
+     * @param pool 計算に用いるプール
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と w の長さが異なる場合
+     */
+    public static void accumulateWeightedParallel(double[] x, double[] w,
+            WeightedLogSumExpAccumulator acc, ForkJoinPool pool) {
+        Objects.requireNonNull(acc);
+        Objects.requireNonNull(pool);
+        checkWeightLength(x, w);
+        if (x.length <= PARALLEL_THRESHOLD) {
+            acc.addAll(x, 0, w, 0, x.length);
+            return;
+        }
+        acc.merge(pool.invoke(new WeightedLogSumExpTask(x, w, 0, x.length)));
+    }
+
+    /**
+     * log-summation-exp:
+     * log_e [e^{x_1} + e^{x_2} + ... ]
+     * の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     * 
+     * <p>
+     * 配列を区間に分割し, 区間ごとに最大値 max を求めてから exp(x_i - max) の和を求める.
+     * それらの (exponent, coeff) の部分結果を
+     * {@link LogSumExpAccumulator#merge(LogSumExpAccumulator)} により合成する.
+     * 特殊値の扱いは逐次版と同じであるが,
+     * 加算順序の違いにより結果は丸め誤差の範囲で異なりうる.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     * @see #logSumExp(double...)
+     */
+    public static double logSumExpParallel(double[] x) {
+        return logSumExpParallel(x, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * log-summation-exp:
+     * log_e [e^{x_1} + e^{x_2} + ... ]
+     * の, 指定したプールによる並列計算.
+     * 
+     * @param x x_1, x_2, ...
+     * @param pool 計算に用いる ForkJoinPool
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     * @see #logSumExpParallel(double[])
+     */
+    public static double logSumExpParallel(double[] x, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        if (x.length <= PARALLEL_THRESHOLD) {
+            return logSumExp(x);
+        }
+        return pool.invoke(new LogSumExpTask(x, 0, x.length)).result();
+    }
+
+    /**
+     * softmax:
+     * out_i = e^{x_i} / [e^{x_1} + e^{x_2} + ... ]
+     * の計算.
+     * 
+     * <p>
+     * 最大値 max を求めた後, e^{x_i - max} を out に格納しながらその和を求め,
+     * 最後に和で割る.
+     * 作業用の配列は確保しない.
+     * in と out は同一の配列でもよい (in-place). <br>
+     * 特殊値の扱いは {@link #logSumExp(double...)} と整合する.
+     * </p>
+     * <ul>
+     * <li>NaN を含む場合, すべての要素が NaN.</li>
+     * <li>NaN を含まず +inf を含む場合, +inf の要素は 1/(+inf の個数), それ以外は 0.</li>
+     * <li>すべての要素が -inf の場合, すべての要素が NaN (0/0).</li>
+     * <li>それ以外の場合, -inf の要素は 0.</li>
+     * </ul>
+     * 
+     * @param in x_1, x_2, ...
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void softmax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        softmaxKernel(in, 0, out, 0, in.length, false);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の softmax を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法と特殊値の扱いは {@link #softmax(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void softmax(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        softmaxKernel(in, inOffset, out, outOffset, length, false);
+    }
+
+    /**
+     * softmax を計算し, x を結果で置き換える.
+     * 
+     * @param x x_1, x_2, ...
+     * @throws NullPointerException null
+     * @see #softmax(double[], double[])
+     */
+    public static void softmaxInPlace(double[] x) {
+        softmaxKernel(x, 0, x, 0, x.length, false);
+    }
+
+    /**
+     * 部分配列
+     * (x[offset], ..., x[offset + length - 1])
+     * の softmax を計算し, その範囲を結果で置き換える.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     * @see #softmax(double[], double[])
+     */
+    public static void softmaxInPlace(double[] x, int offset, int length) {
+        checkRange(x.length, offset, length);
+        softmaxKernel(x, offset, x, offset, length, false);
+    }
+
+    /**
+     * log-softmax:
+     * out_i = x_i - log_e [e^{x_1} + e^{x_2} + ... ]
+     * の計算.
+     * 
+     * <p>
+     * 最大値 max と e^{x_i - max} の和 s を求め,
+     * out_i = (x_i - max) - log_e(s) とする.
+     * 作業用の配列は確保しない.
+     * in と out は同一の配列でもよい (in-place). <br>
+     * 特殊値の扱いは {@link #logSumExp(double...)} と整合する.
+     * </p>
+     * <ul>
+     * <li>NaN を含む場合, すべての要素が NaN.</li>
+     * <li>NaN を含まず +inf を含む場合, +inf の要素は -log_e(+inf の個数), それ以外は -inf.</li>
+     * <li>すべての要素が -inf の場合, すべての要素が NaN.</li>
+     * <li>それ以外の場合, -inf の要素は -inf.</li>
+     * </ul>
+     * 
+     * @param in x_1, x_2, ...
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void logSoftmax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        logSoftmaxKernel(in, 0, out, 0, in.length, false);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の log-softmax を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法と特殊値の扱いは {@link #logSoftmax(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void logSoftmax(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        logSoftmaxKernel(in, inOffset, out, outOffset, length, false);
+    }
+
+    /**
+     * log-softmax を計算し, x を結果で置き換える.
+     * 
+     * @param x x_1, x_2, ...
+     * @throws NullPointerException null
+     * @see #logSoftmax(double[], double[])
+     */
+    public static void logSoftmaxInPlace(double[] x) {
+        logSoftmaxKernel(x, 0, x, 0, x.length, false);
+    }
+
+    /**
+     * 部分配列
+     * (x[offset], ..., x[offset + length - 1])
+     * の log-softmax を計算し, その範囲を結果で置き換える.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     * @see #logSoftmax(double[], double[])
+     */
+    public static void logSoftmaxInPlace(double[] x, int offset, int length) {
+        checkRange(x.length, offset, length);
+        logSoftmaxKernel(x, offset, x, offset, length, false);
+    }
+
+    /**
+     * 近似指数関数 e^x.
+     * 
+     * <p>
+     * x = (64m + j) log(2)/64 + r (|r| &lt;= log(2)/128) と分解し,
+     * 2^m * 2^(j/64) * p(r) とする.
+     * 2^(j/64) は表引き, p は e^r の5次の Taylor 多項式である. <br>
+     * -708 &lt;= x &lt;= 709 の範囲での相対誤差は 1E-14 以下
+     * (実測値は 2 ulp, 相対誤差 5E-16 程度). <br>
+     * 範囲外 (結果が非正規化数, オーバーフロー, 非有限値) の場合は
+     * {@link Math#exp(double)} に委ねる.
+     * </p>
+     * 
+     * @param x x
+     * @return e^x の近似値
+     */
+    public static double fastExp(double x) {
+        if (!(x >= -708d && x <= 709d)) {
+            return Math.exp(x);
+        }
+        return fastExpKernel(x);
+    }
+
+    /**
+     * 近似版の log-summation-exp:
+     * log_e [e^{x_1} + e^{x_2} + ... ]
+     * の計算.
+     * 
+     * <p>
+     * 最大値 max を求めた後, e^{x_i - max} を {@link #fastExp(double)} と同じ近似で計算する.
+     * x_i - max &lt; -708 の項は 0 とする (和は 1 以上であり, 影響は 1E-300 未満).
+     * 対数は最後に1回だけであるため, {@link Math#log(double)} を用いる. <br>
+     * 結果の誤差は, 真値に対して絶対誤差 (|max| + 1) * 1E-14 以下である. <br>
+     * 特殊値の扱いは {@link #logSumExp(double...)} と同じ.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     */
+    public static double fastLogSumExp(double... x) {
+        double max = max(x, 0, x.length);
+        if (!Double.isFinite(max)) {
+            // NaN, +inf, または全要素が -inf (空を含む)
+            return max;
+        }
+
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int j = 0;
+        for (int end = x.length - 3; j < end; j += 4) {
+            sum0 += fastExpNonPositive(x[j] - max);
+            sum1 += fastExpNonPositive(x[j + 1] - max);
+            sum2 += fastExpNonPositive(x[j + 2] - max);
+            sum3 += fastExpNonPositive(x[j + 3] - max);
+        }
+        for (; j < x.length; j++) {
+            sum0 += fastExpNonPositive(x[j] - max);
+        }
+        return max + Math.log((sum0 + sum1) + (sum2 + sum3));
+    }
+
+    /**
+     * 近似版の softmax の計算.
+     * 
+     * <p>
+     * {@link #softmax(double[], double[])} の指数関数を
+     * {@link #fastExp(double)} と同じ近似に置き換えたものである
+     * (x_i - max &lt; -708 の項は 0 とする).
+     * 各要素の相対誤差は 1E-14 程度以下. <br>
+     * 特殊値の扱いは {@link #softmax(double[], double[])} と同じ.
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in x_1, x_2, ...
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void fastSoftmax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        softmaxKernel(in, 0, out, 0, in.length, true);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の近似版の softmax を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法と特殊値の扱いは {@link #fastSoftmax(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void fastSoftmax(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        softmaxKernel(in, inOffset, out, outOffset, length, true);
+    }
+
+    /**
+     * 近似版の softmax を計算し, x を結果で置き換える.
+     * 
+     * @param x x_1, x_2, ...
+     * @throws NullPointerException null
+     * @see #fastSoftmax(double[], double[])
+     */
+    public static void fastSoftmaxInPlace(double[] x) {
+        softmaxKernel(x, 0, x, 0, x.length, true);
+    }
+
+    /**
+     * 部分配列
+     * (x[offset], ..., x[offset + length - 1])
+     * の近似版の softmax を計算し, その範囲を結果で置き換える.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     * @see #fastSoftmax(double[], double[])
+     */
+    public static void fastSoftmaxInPlace(double[] x, int offset, int length) {
+        checkRange(x.length, offset, length);
+        softmaxKernel(x, offset, x, offset, length, true);
+    }
+
+    /**
+     * 近似版の log-softmax の計算.
+     * 
+     * <p>
+     * {@link #logSoftmax(double[], double[])} の指数関数を
+     * {@link #fastExp(double)} と同じ近似に置き換えたものである. <br>
+     * 特殊値の扱いは {@link #logSoftmax(double[], double[])} と同じ.
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in x_1, x_2, ...
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void fastLogSoftmax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        logSoftmaxKernel(in, 0, out, 0, in.length, true);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の近似版の log-softmax を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法と特殊値の扱いは {@link #fastLogSoftmax(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void fastLogSoftmax(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        logSoftmaxKernel(in, inOffset, out, outOffset, length, true);
+    }
+
+    /**
+     * 近似版の log-softmax を計算し, x を結果で置き換える.
+     * 
+     * @param x x_1, x_2, ...
+     * @throws NullPointerException null
+     * @see #fastLogSoftmax(double[], double[])
+     */
+    public static void fastLogSoftmaxInPlace(double[] x) {
+        logSoftmaxKernel(x, 0, x, 0, x.length, true);
+    }
+
+    /**
+     * 部分配列
+     * (x[offset], ..., x[offset + length - 1])
+     * の近似版の log-softmax を計算し, その範囲を結果で置き換える.
+     * 
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     * @see #fastLogSoftmax(double[], double[])
+     */
+    public static void fastLogSoftmaxInPlace(double[] x, int offset, int length) {
+        checkRange(x.length, offset, length);
+        logSoftmaxKernel(x, offset, x, offset, length, true);
+    }
+
+    /**
+     * float 配列の log-summation-exp:
+     * log_e [e^{x_1} + e^{x_2} + ... ]
+     * の計算.
+     * 
+     * <p>
+     * 最大値を求めた後, 指数和を double で計算し, 最後に float に丸める.
+     * 誤差は float の 1 ulp 程度である.
+     * 特殊値の扱いは {@link #logSumExp(double...)} と同じ. <br>
+     * x.length = 0 のとき -inf.
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     */
+    public static float logSumExp(float[] x) {
+        // NaN は Math.max で伝播する
+        float max = Float.NEGATIVE_INFINITY;
+        for (float v : x) {
+            max = Math.max(max, v);
+        }
+        if (!Float.isFinite(max)) {
+            // NaN, +inf, または全要素が -inf (空を含む)
+            return max;
+        }
+
+        // exp(v - max) <= 1 であり, 和は x.length 以下
+        double sum = 0d;
+        for (float v : x) {
+            sum += Math.exp((double) v - max);
+        }
+        return (float) (max + Math.log(sum));
+    }
+
     /**
      * log-multiply-abs:
      * log_e [|x_1||x_2| ... ]
      * の計算.
      * 
+     * <p>
+     * 積を {@link ScaledProduct} により仮数と2進指数に分けて計算し,
+     * {@link Math#log(double)} は最後に1回だけ呼ぶ. <br>
+     * 0 を含む場合は -inf, inf を含む場合は +inf,
+     * NaN を含む場合, および 0 と inf を両方含む場合は NaN. <br>
      * x.length = 0 のとき 0.
+     * </p>
      *
      * @param x x_1, x_2, ...
      * @return log_e [|x_1||x_2| ... ]
      * @throws NullPointerException null
      */
     public static double logMultiplyAbs(double... x) {
-
-        final double MIN_ABS_THRESHOLD = 1E-150;
-        final double MAX_ABS_THRESHOLD = 1E+150;
-
-        double logMultiplyAbs = 0;
-        double leftover = 1;
-        for (int j = 0, len = x.length; j < len; j++) {
-            double v0 = Math.abs(x[j]);
-            if (v0 < MIN_ABS_THRESHOLD || v0 > MAX_ABS_THRESHOLD) {
-                logMultiplyAbs += Math.log(v0);
-                continue;
-            }
-
-            leftover *= v0;
-            if (leftover > MAX_ABS_THRESHOLD || leftover < MIN_ABS_THRESHOLD) {
-                logMultiplyAbs += Math.log(leftover);
-                leftover = 1d;
-            }
-        }
-
-        return logMultiplyAbs + Math.log(leftover);
+        ScaledProduct product = new ScaledProduct();
+        product.multiplyAll(x, 0, x.length);
+        return product.logAbs();
     }
 
     /**
@@ -122,4 +874,345 @@ public final class Exponentiation {
         }
         return value;
     }
+
+    /**
+     * 配列の各要素の整数乗 (x_i^n) の計算.
+     * out[i] に x[i]^n を格納する.
+     * 
+     * <p>
+     * 指数のビット列を1回だけ解析し,
+     * 同じ乗算の列をブロックごとに全要素へ適用する.
+     * 各要素に対する演算は {@link #pow(double, int)} と同一であり, 結果も一致する.
+     * x と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param n n
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x と out の長さが異なる場合
+     */
+    public static void pow(double[] x, int n, double[] out) {
+        checkSameLength(x, "x", out, "out");
+
+        boolean inverse = n < 0;
+        // n = -2^{31} の場合, -n = 2^{31} と解釈する (unsigned bit shift による)
+        int absN = inverse ? -n : n;
+
+        double[] powers = new double[Math.min(x.length, POW_BLOCK)];
+        for (int i0 = 0; i0 < x.length; i0 += POW_BLOCK) {
+            int length = Math.min(POW_BLOCK, x.length - i0);
+            for (int k = 0; k < length; k++) {
+                double v = x[i0 + k];
+                powers[k] = inverse ? 1 / v : v;
+                out[i0 + k] = 1d;
+            }
+
+            for (int np = absN; np != 0; np >>>= 1) {
+                if ((np & 1) == 1) {
+                    for (int k = 0; k < length; k++) {
+                        out[i0 + k] *= powers[k];
+                    }
+                }
+                if (np >>> 1 == 0) {
+                    // 最後のビットの後の2乗は結果に影響しない
+                    break;
+                }
+                for (int k = 0; k < length; k++) {
+                    powers[k] *= powers[k];
+                }
+            }
+        }
+    }
+
+    /**
+     * 配列の各要素の整数乗 (x_i^{n_i}) の計算.
+     * out[i] に x[i]^n[i] を格納する.
+     * 
+     * <p>
+     * 各要素に {@link #pow(double, int)} を適用する.
+     * x と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param x x_1, x_2, ...
+     * @param n n_1, n_2, ...
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException x, n, out の長さが異なる場合
+     */
+    public static void pow(double[] x, int[] n, double[] out) {
+        checkSameLength(x, "x", out, "out");
+        if (x.length != n.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: x.length = " + x.length + ", n.length = " + n.length);
+        }
+
+        for (int i = 0; i < x.length; i++) {
+            out[i] = pow(x[i], n[i]);
+        }
+    }
+
+    /**
+     * -708 &lt;= x &lt;= 709 に対する近似指数関数.
+     */
+    private static double fastExpKernel(double x) {
+        // n = round(x * 64 / log(2)), x = n log(2)/64 + r
+        double shifted = x * INV_LN2_64 + ROUNDING_SHIFTER;
+        int n = (int) Double.doubleToRawLongBits(shifted);
+        double nd = shifted - ROUNDING_SHIFTER;
+        double r = (x - nd * LN2_64_HI) - nd * LN2_64_LO;
+
+        // e^r の5次の Taylor 多項式 (|r| <= log(2)/128, 打ち切りの相対誤差は 4E-17 未満)
+        double p = 1d + r * (1d + r * (1d / 2 + r * (1d / 6 + r * (1d / 24 + r * (1d / 120)))));
+
+        // 2^m, m = floor(n / 64) は -1022 から 1023 の範囲
+        int m = n >> EXP_TABLE_BITS;
+        double twoToM = Double.longBitsToDouble((long) (m + 1023) << 52);
+        return EXP_TABLE[n & (EXP_TABLE_SIZE - 1)] * p * twoToM;
+    }
+
+    /**
+     * x &lt;= 0 または -inf に対する近似指数関数.
+     * x &lt; -708 の場合は 0 とする.
+     */
+    private static double fastExpNonPositive(double x) {
+        return x >= -708d ? fastExpKernel(x) : 0d;
+    }
+
+    /**
+     * x &lt;= 0 または -inf に対する指数関数.
+     * fast ならば {@link #fastExpNonPositive(double)}, そうでなければ {@link Math#exp(double)}.
+     * fast はループ内で不変であり, 分岐は予測される.
+     */
+    private static double expNonPositive(double x, boolean fast) {
+        return fast ? fastExpNonPositive(x) : Math.exp(x);
+    }
+
+    private static void checkSameLength(double[] x, String xName, double[] y, String yName) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: " + xName + ".length = " + x.length
+                            + ", " + yName + ".length = " + y.length);
+        }
+    }
+
+    private static void checkWeightLength(double[] x, double[] w) {
+        if (x.length != w.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: x.length = " + x.length + ", w.length = " + w.length);
+        }
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + arrayLength);
+        }
+    }
+
+    /**
+     * 範囲 x[offset], ..., x[offset + length - 1] の最大値を返す.
+     * NaN を含む場合は NaN, length = 0 の場合は -inf.
+     */
+    static double max(double[] x, int offset, int length) {
+        double max0 = Double.NEGATIVE_INFINITY;
+        double max1 = Double.NEGATIVE_INFINITY;
+        double max2 = Double.NEGATIVE_INFINITY;
+        double max3 = Double.NEGATIVE_INFINITY;
+        int end = offset + length;
+        int j = offset;
+        for (int end4 = end - 3; j < end4; j += 4) {
+            // NaN は Math.max で伝播する
+            max0 = Math.max(max0, x[j]);
+            max1 = Math.max(max1, x[j + 1]);
+            max2 = Math.max(max2, x[j + 2]);
+            max3 = Math.max(max3, x[j + 3]);
+        }
+        for (; j < end; j++) {
+            max0 = Math.max(max0, x[j]);
+        }
+        return Math.max(Math.max(max0, max1), Math.max(max2, max3));
+    }
+
+    /**
+     * softmax の計算.
+     * fast ならば指数関数に {@link #fastExpNonPositive(double)} を, そうでなければ {@link Math#exp(double)} を用いる.
+     */
+    private static void softmaxKernel(
+            double[] in, int inOffset, double[] out, int outOffset, int length, boolean fast) {
+        double max = max(in, inOffset, length);
+        if (!Double.isFinite(max)) {
+            // NaN は全要素 NaN, +inf は +inf の要素で等分, 全要素が -inf は NaN
+            fillNonFiniteMax(in, inOffset, out, outOffset, length, max, false);
+            return;
+        }
+
+        // 1パスで e^{x_i - max} を out に格納しながら和を求める
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4) {
+            double e0 = expNonPositive(in[inOffset + k] - max, fast);
+            double e1 = expNonPositive(in[inOffset + k + 1] - max, fast);
+            double e2 = expNonPositive(in[inOffset + k + 2] - max, fast);
+            double e3 = expNonPositive(in[inOffset + k + 3] - max, fast);
+            out[outOffset + k] = e0;
+            out[outOffset + k + 1] = e1;
+            out[outOffset + k + 2] = e2;
+            out[outOffset + k + 3] = e3;
+            sum0 += e0;
+            sum1 += e1;
+            sum2 += e2;
+            sum3 += e3;
+        }
+        for (; k < length; k++) {
+            double e = expNonPositive(in[inOffset + k] - max, fast);
+            out[outOffset + k] = e;
+            sum0 += e;
+        }
+
+        // 最大値の項が 1 であるため, 1 <= sum <= length
+        double sum = (sum0 + sum1) + (sum2 + sum3);
+        for (k = 0; k < length; k++) {
+            out[outOffset + k] /= sum;
+        }
+    }
+
+    /**
+     * log-softmax の計算.
+     * 指数関数の選択は {@link #softmaxKernel} と同じ.
+     */
+    private static void logSoftmaxKernel(
+            double[] in, int inOffset, double[] out, int outOffset, int length, boolean fast) {
+        double max = max(in, inOffset, length);
+        if (!Double.isFinite(max)) {
+            fillNonFiniteMax(in, inOffset, out, outOffset, length, max, true);
+            return;
+        }
+
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4) {
+            sum0 += expNonPositive(in[inOffset + k] - max, fast);
+            sum1 += expNonPositive(in[inOffset + k + 1] - max, fast);
+            sum2 += expNonPositive(in[inOffset + k + 2] - max, fast);
+            sum3 += expNonPositive(in[inOffset + k + 3] - max, fast);
+        }
+        for (; k < length; k++) {
+            sum0 += expNonPositive(in[inOffset + k] - max, fast);
+        }
+
+        double logSum = Math.log((sum0 + sum1) + (sum2 + sum3));
+        for (k = 0; k < length; k++) {
+            out[outOffset + k] = (in[inOffset + k] - max) - logSum;
+        }
+    }
+
+    /**
+     * 最大値が非有限 (NaN, +inf, -inf) の場合の softmax, log-softmax の結果を格納する.
+     */
+    private static void fillNonFiniteMax(
+            double[] in, int inOffset, double[] out, int outOffset, int length,
+            double max, boolean log) {
+        if (max != Double.POSITIVE_INFINITY) {
+            // NaN を含む, または全要素が -inf
+            for (int k = 0; k < length; k++) {
+                out[outOffset + k] = Double.NaN;
+            }
+            return;
+        }
+
+        int count = 0;
+        for (int k = 0; k < length; k++) {
+            if (in[inOffset + k] == Double.POSITIVE_INFINITY) {
+                count++;
+            }
+        }
+        double infValue = log ? -Math.log(count) : 1d / count;
+        double otherValue = log ? Double.NEGATIVE_INFINITY : 0d;
+        for (int k = 0; k < length; k++) {
+            out[outOffset + k] = in[inOffset + k] == Double.POSITIVE_INFINITY
+                    ? infValue
+                    : otherValue;
+        }
+    }
+
+    /**
+     * log-summation-exp の並列計算タスク.
+     */
+    private static final class LogSumExpTask extends RecursiveTask<LogSumExpAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] x;
+        private final int from;
+        private final int to;
+
+        LogSumExpTask(double[] x, int from, int to) {
+            this.x = x;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected LogSumExpAccumulator compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                LogSumExpAccumulator acc = new LogSumExpAccumulator();
+                acc.accumulate(x, from, to - from);
+                return acc;
+            }
+
+            int mid = (from + to) >>> 1;
+            LogSumExpTask left = new LogSumExpTask(x, from, mid);
+            LogSumExpTask right = new LogSumExpTask(x, mid, to);
+            left.fork();
+            LogSumExpAccumulator rightResult = right.compute();
+            LogSumExpAccumulator leftResult = left.join();
+
+            leftResult.merge(rightResult);
+            return leftResult;
+        }
+    }
+
+    private static final class WeightedLogSumExpTask extends RecursiveTask<WeightedLogSumExpAccumulator> {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] x;
+        private final double[] w;
+        private final int from;
+        private final int to;
+
+        WeightedLogSumExpTask(double[] x, double[] w, int from, int to) {
+            this.x = x;
+            this.w = w;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected WeightedLogSumExpAccumulator compute() {
+            if (to - from <= PARALLEL_THRESHOLD) {
+                WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+                acc.addAll(x, from, w, from, to - from);
+                return acc;
+            }
+
+            int mid = (from + to) >>> 1;
+            WeightedLogSumExpTask left = new WeightedLogSumExpTask(x, w, from, mid);
+            WeightedLogSumExpTask right = new WeightedLogSumExpTask(x, w, mid, to);
+            left.fork();
+            WeightedLogSumExpAccumulator rightResult = right.compute();
+            WeightedLogSumExpAccumulator leftResult = left.join();
+
+            leftResult.merge(rightResult);
+            return leftResult;
+        }
+    }
 }
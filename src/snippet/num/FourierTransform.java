@@ -0,0 +1,581 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.Objects;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+
+/**
+ * 長さ N の離散フーリエ変換 (DFT) の計画.
+ *
+ * <p>
+ * 順変換, 逆変換は次で定義する. <br>
+ * X_k = sum_{j=0}^{N-1} x_j e^{-2 pi i jk / N}, <br>
+ * x_j = (1/N) sum_{k=0}^{N-1} X_k e^{2 pi i jk / N}. <br>
+ * 複素数列は実部と虚部を別々の配列 (re, im) で表す.
+ * </p>
+ *
+ * <p>
+ * N が2の累乗の場合は基数2の反復型 FFT により計算する.
+ * 回転因子は {@link TwiddleTable} による.
+ * それ以外の場合は Bluestein のアルゴリズム (chirp z 変換) により,
+ * 2N - 1 以上の2の累乗の長さの FFT に帰着させる.
+ * chirp e^{-pi i j^2 / N} は, j^2 を 2N で割った剰余 r により
+ * {@link Trigonometry#cospi(double) cospi}(r / N) などとして計算する. <br>
+ * 実数列の変換は, 長さ N/2 の複素 FFT に詰め込んで計算する (N が偶数の場合).
+ * </p>
+ *
+ * <p>
+ * インスタンスは {@link #of(int)} により取得する.
+ * 構築した計画は, 個数とバイト数に上限のあるキャッシュ (最も長く参照されていない計画から破棄する) により共有される.
+ * バイト数は計画が保持する配列 (回転因子の表, Bluestein の場合の chirp, 畳み込み核, 内部の計画) により見積もる.
+ * 単独でバイト数の上限を超える計画はキャッシュせず, 呼び出しごとに構築する.
+ * インスタンスは不変であり, スレッドセーフである (作業領域は呼び出しごとに確保する).
+ * </p>
+ */
+public final class FourierTransform {
+
+    /**
+     * キャッシュに保持する計画の個数の上限.
+     */
+    private static final int CACHE_CAPACITY = 32;
+
+    /**
+     * キャッシュに保持する計画のバイト数の合計の上限 (128 MiB).
+     */
+    private static final long CACHE_BYTES = 128L << 20;
+
+    private static final LruCache<Integer, FourierTransform> CACHE =
+            new LruCache<>(CACHE_CAPACITY, CACHE_BYTES, FourierTransform::bytes);
+
+    /**
+     * 並列計算において, 1個のタスクが逐次的に処理するバタフライ演算の個数.
+     */
+    private static final int PARALLEL_BUTTERFLIES = 1 << 13;
+
+    private final int size;
+
+    /**
+     * 2の累乗の場合の回転因子の表. Bluestein の場合は null.
+     */
+    private final TwiddleTable twiddle;
+
+    /**
+     * Bluestein の場合の, 長さ M (2の累乗) の計画. 2の累乗の場合は null.
+     */
+    private final FourierTransform inner;
+
+    /**
+     * chirp: e^{-pi i j^2 / N} (j = 0, ..., N - 1).
+     */
+    private final double[] chirpRe;
+    private final double[] chirpIm;
+
+    /**
+     * 畳み込み核 (chirp の共役を長さ M に巡回的に配置したもの) の FFT.
+     */
+    private final double[] kernelRe;
+    private final double[] kernelIm;
+
+    private FourierTransform(int size) {
+        this.size = size;
+        if (Integer.bitCount(size) == 1) {
+            this.twiddle = TwiddleTable.of(size);
+            this.inner = null;
+            this.chirpRe = null;
+            this.chirpIm = null;
+            this.kernelRe = null;
+            this.kernelIm = null;
+            return;
+        }
+
+        this.twiddle = null;
+        // M >= 2N - 1 (N < 2^30 ならば int の範囲)
+        int m = Integer.highestOneBit(2 * size - 1) << 1;
+        this.inner = of(m);
+
+        this.chirpRe = new double[size];
+        this.chirpIm = new double[size];
+        long twoN = 2L * size;
+        for (int j = 0; j < size; j++) {
+            // e^{-pi i j^2 / N} = e^{-pi i r / N}, r = j^2 mod 2N
+            long r = ((long) j * j) % twoN;
+            double x = (double) r / size;
+            chirpRe[j] = Trigonometry.cospi(x);
+            chirpIm[j] = -Trigonometry.sinpi(x);
+        }
+
+        this.kernelRe = new double[m];
+        this.kernelIm = new double[m];
+        kernelRe[0] = chirpRe[0];
+        kernelIm[0] = -chirpIm[0];
+        for (int j = 1; j < size; j++) {
+            kernelRe[j] = chirpRe[j];
+            kernelIm[j] = -chirpIm[j];
+            kernelRe[m - j] = chirpRe[j];
+            kernelIm[m - j] = -chirpIm[j];
+        }
+        inner.radix2(kernelRe, kernelIm, null);
+    }
+
+    /**
+     * 長さ N の DFT の計画を返す.
+     *
+     * <p>
+     * キャッシュに存在する場合はそれを返し, 存在しない場合は構築してキャッシュに追加する.
+     * 計画のバイト数がキャッシュのバイト数の上限を超える場合は, キャッシュに追加しない.
+     * </p>
+     *
+     * @param n 長さ N
+     * @return DFT の計画
+     * @throws IllegalArgumentException n が 1 未満, または 2^29 より大きく2の累乗でない場合
+     */
+    public static FourierTransform of(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n < 1: n = " + n);
+        }
+        if (n > (1 << 29) && Integer.bitCount(n) != 1) {
+            throw new IllegalArgumentException("too large: n = " + n);
+        }
+        Integer key = Integer.valueOf(n);
+        FourierTransform cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return CACHE.addIfAbsent(key, new FourierTransform(n));
+    }
+
+    /**
+     * 変換の長さ N を返す.
+     *
+     * @return N
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * 計画が保持する配列のバイト数の見積もり. <br>
+     * 2の累乗の場合は回転因子の表 (16N バイト),
+     * Bluestein の場合は chirp (16N バイト), 畳み込み核 (16M バイト) と内部の計画の合計.
+     * 回転因子の表は {@link TwiddleTable} のキャッシュと共有されうるが, 重複して数える.
+     */
+    private long bytes() {
+        if (inner == null) {
+            return 16L * size;
+        }
+        return 16L * size + 16L * inner.size + inner.bytes();
+    }
+
+    /**
+     * 順変換を計算し, 入力を結果で置き換える.
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     */
+    public void forward(double[] re, double[] im) {
+        checkLength(re, size);
+        checkLength(im, size);
+        transform(re, im, null);
+    }
+
+    /**
+     * 逆変換 (1/N 倍を含む) を計算し, 入力を結果で置き換える.
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     */
+    public void inverse(double[] re, double[] im) {
+        checkLength(re, size);
+        checkLength(im, size);
+        inverseTransform(re, im, null);
+    }
+
+    /**
+     * 順変換の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     * @see #forwardParallel(double[], double[], ForkJoinPool)
+     */
+    public void forwardParallel(double[] re, double[] im) {
+        forwardParallel(re, im, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 順変換の並列計算.
+     *
+     * <p>
+     * 基数2の FFT の各段のバタフライ演算を分割して並列に計算する.
+     * 各バタフライ演算は逐次版と同一であり, 結果は {@link #forward(double[], double[])} と一致する.
+     * 長さが小さい場合は逐次的に計算する.
+     * </p>
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @param pool 計算に用いるプール
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     */
+    public void forwardParallel(double[] re, double[] im, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        checkLength(re, size);
+        checkLength(im, size);
+        transform(re, im, pool);
+    }
+
+    /**
+     * 逆変換 (1/N 倍を含む) の並列計算. <br>
+     * 共通プール ({@link ForkJoinPool#commonPool()}) を用いる.
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     * @see #forwardParallel(double[], double[], ForkJoinPool)
+     */
+    public void inverseParallel(double[] re, double[] im) {
+        inverseParallel(re, im, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * 逆変換 (1/N 倍を含む) の並列計算.
+     * 結果は {@link #inverse(double[], double[])} と一致する.
+     *
+     * @param re 実部 (長さ N)
+     * @param im 虚部 (長さ N)
+     * @param pool 計算に用いるプール
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが N でない場合
+     * @see #forwardParallel(double[], double[], ForkJoinPool)
+     */
+    public void inverseParallel(double[] re, double[] im, ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        checkLength(re, size);
+        checkLength(im, size);
+        inverseTransform(re, im, pool);
+    }
+
+    /**
+     * 実数列の順変換.
+     *
+     * <p>
+     * X_k (k = 0, ..., floor(N/2)) を (re, im) に格納する.
+     * 残りの係数は X_{N-k} = conj(X_k) により定まる. <br>
+     * N が偶数の場合, z_j = x_{2j} + i x_{2j+1} の長さ N/2 の FFT から計算する.
+     * </p>
+     *
+     * @param x 実数列 (長さ N)
+     * @param re 結果の実部 (長さ floor(N/2) + 1)
+     * @param im 結果の虚部 (長さ floor(N/2) + 1)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが不正な場合
+     */
+    public void forwardReal(double[] x, double[] re, double[] im) {
+        checkLength(x, size);
+        int h = size / 2;
+        checkLength(re, h + 1);
+        checkLength(im, h + 1);
+
+        if (size % 2 != 0) {
+            double[] workRe = x.clone();
+            double[] workIm = new double[size];
+            transform(workRe, workIm, null);
+            System.arraycopy(workRe, 0, re, 0, h + 1);
+            System.arraycopy(workIm, 0, im, 0, h + 1);
+            return;
+        }
+
+        double[] zr = new double[h];
+        double[] zi = new double[h];
+        for (int j = 0; j < h; j++) {
+            zr[j] = x[2 * j];
+            zi[j] = x[2 * j + 1];
+        }
+        of(h).transform(zr, zi, null);
+
+        double[] cos = twiddleOfSize().cos;
+        double[] sin = twiddleOfSize().sin;
+        for (int k = 0; k <= h; k++) {
+            int p = k == h ? 0 : k;
+            int q = k == 0 ? 0 : h - k;
+            double ar = zr[p];
+            double ai = zi[p];
+            double br = zr[q];
+            double bi = -zi[q];
+
+            // E_k = (Z_k + conj(Z_{h-k})) / 2, O_k = (Z_k - conj(Z_{h-k})) / (2i)
+            double er = 0.5 * (ar + br);
+            double ei = 0.5 * (ai + bi);
+            double or = 0.5 * (ai - bi);
+            double oi = -0.5 * (ar - br);
+
+            // X_k = E_k + e^{-2 pi i k / N} O_k
+            double wr = cos[k];
+            double wi = -sin[k];
+            re[k] = er + (wr * or - wi * oi);
+            im[k] = ei + (wr * oi + wi * or);
+        }
+    }
+
+    /**
+     * 実数列の逆変換 (1/N 倍を含む).
+     *
+     * <p>
+     * {@link #forwardReal(double[], double[], double[])} の逆である.
+     * X_k (k = 0, ..., floor(N/2)) から, X_{N-k} = conj(X_k) を仮定して実数列を復元する.
+     * </p>
+     *
+     * @param re 係数の実部 (長さ floor(N/2) + 1)
+     * @param im 係数の虚部 (長さ floor(N/2) + 1)
+     * @param x 結果の実数列 (長さ N)
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが不正な場合
+     */
+    public void inverseReal(double[] re, double[] im, double[] x) {
+        int h = size / 2;
+        checkLength(re, h + 1);
+        checkLength(im, h + 1);
+        checkLength(x, size);
+
+        if (size % 2 != 0) {
+            double[] workRe = new double[size];
+            double[] workIm = new double[size];
+            for (int k = 0; k <= h; k++) {
+                workRe[k] = re[k];
+                workIm[k] = im[k];
+            }
+            for (int k = h + 1; k < size; k++) {
+                workRe[k] = re[size - k];
+                workIm[k] = -im[size - k];
+            }
+            inverseTransform(workRe, workIm, null);
+            System.arraycopy(workRe, 0, x, 0, size);
+            return;
+        }
+
+        double[] cos = twiddleOfSize().cos;
+        double[] sin = twiddleOfSize().sin;
+        double[] zr = new double[h];
+        double[] zi = new double[h];
+        for (int k = 0; k < h; k++) {
+            double ar = re[k];
+            double ai = im[k];
+            double br = re[h - k];
+            double bi = -im[h - k];
+
+            // E_k = (X_k + conj(X_{h-k})) / 2, O_k = (X_k - conj(X_{h-k})) / 2 * e^{2 pi i k / N}
+            double er = 0.5 * (ar + br);
+            double ei = 0.5 * (ai + bi);
+            double dr = 0.5 * (ar - br);
+            double di = 0.5 * (ai - bi);
+            double wr = cos[k];
+            double wi = sin[k];
+            double or = wr * dr - wi * di;
+            double oi = wr * di + wi * dr;
+
+            // Z_k = E_k + i O_k
+            zr[k] = er - oi;
+            zi[k] = ei + or;
+        }
+        of(h).inverseTransform(zr, zi, null);
+
+        for (int j = 0; j < h; j++) {
+            x[2 * j] = zr[j];
+            x[2 * j + 1] = zi[j];
+        }
+    }
+
+    /**
+     * 長さ N の回転因子の表 (実数列の変換の前処理, 後処理に用いる).
+     */
+    private TwiddleTable twiddleOfSize() {
+        return twiddle != null ? twiddle : TwiddleTable.of(size);
+    }
+
+    /**
+     * 順変換. pool が null の場合は逐次計算.
+     */
+    private void transform(double[] re, double[] im, ForkJoinPool pool) {
+        if (twiddle != null) {
+            radix2(re, im, pool);
+        } else {
+            bluestein(re, im, pool);
+        }
+    }
+
+    /**
+     * 逆変換: conj(F(conj(x))) / N.
+     */
+    private void inverseTransform(double[] re, double[] im, ForkJoinPool pool) {
+        for (int j = 0; j < size; j++) {
+            im[j] = -im[j];
+        }
+        transform(re, im, pool);
+        double scale = 1d / size;
+        for (int j = 0; j < size; j++) {
+            re[j] *= scale;
+            im[j] = -im[j] * scale;
+        }
+    }
+
+    /**
+     * 基数2の反復型 FFT (N は2の累乗).
+     */
+    private void radix2(double[] re, double[] im, ForkJoinPool pool) {
+        int n = size;
+        if (n == 1) {
+            return;
+        }
+
+        // ビット反転順への並べ替え
+        int shift = Integer.numberOfLeadingZeros(n) + 1;
+        for (int i = 0; i < n; i++) {
+            int j = Integer.reverse(i) >>> shift;
+            if (i < j) {
+                double t = re[i];
+                re[i] = re[j];
+                re[j] = t;
+                t = im[i];
+                im[i] = im[j];
+                im[j] = t;
+            }
+        }
+
+        double[] cos = twiddle.cos;
+        double[] sin = twiddle.sin;
+        int butterflies = n / 2;
+        for (int half = 1; half < n; half <<= 1) {
+            if (pool != null && butterflies > PARALLEL_BUTTERFLIES) {
+                pool.invoke(new StageTask(re, im, cos, sin, n, half, 0, butterflies));
+            } else {
+                stage(re, im, cos, sin, n, half, 0, butterflies);
+            }
+        }
+    }
+
+    /**
+     * 長さ 2 * half の段のバタフライ演算のうち, 番号 [from, to) を計算する.
+     * 番号 b の演算は, 組 g = b / half の k = b % half 番目である.
+     */
+    private static void stage(double[] re, double[] im, double[] cos, double[] sin,
+            int n, int half, int from, int to) {
+        int step = n / (2 * half);
+        int b = from;
+        while (b < to) {
+            int g = b / half;
+            int k = b - g * half;
+            int base = g * 2 * half;
+            int kEnd = Math.min(half, k + (to - b));
+            for (; k < kEnd; k++) {
+                // w = e^{-2 pi i k / (2 half)}
+                double wr = cos[k * step];
+                double wi = -sin[k * step];
+                int p = base + k;
+                int q = p + half;
+                double tr = wr * re[q] - wi * im[q];
+                double ti = wr * im[q] + wi * re[q];
+                re[q] = re[p] - tr;
+                im[q] = im[p] - ti;
+                re[p] += tr;
+                im[p] += ti;
+            }
+            b = g * half + kEnd;
+        }
+    }
+
+    /**
+     * Bluestein のアルゴリズム.
+     * X_k = w_k sum_j (x_j w_j) conj(w_{k-j}), w_j = e^{-pi i j^2 / N}.
+     */
+    private void bluestein(double[] re, double[] im, ForkJoinPool pool) {
+        int n = size;
+        int m = inner.size;
+        double[] ar = new double[m];
+        double[] ai = new double[m];
+        for (int j = 0; j < n; j++) {
+            ar[j] = re[j] * chirpRe[j] - im[j] * chirpIm[j];
+            ai[j] = re[j] * chirpIm[j] + im[j] * chirpRe[j];
+        }
+
+        // 巡回畳み込み: IFFT(FFT(a) * FFT(b)), 逆変換は共役により順変換で計算する
+        inner.radix2(ar, ai, pool);
+        for (int j = 0; j < m; j++) {
+            double prodRe = ar[j] * kernelRe[j] - ai[j] * kernelIm[j];
+            double prodIm = ar[j] * kernelIm[j] + ai[j] * kernelRe[j];
+            ar[j] = prodRe;
+            ai[j] = -prodIm;
+        }
+        inner.radix2(ar, ai, pool);
+
+        double scale = 1d / m;
+        for (int k = 0; k < n; k++) {
+            double cr = ar[k] * scale;
+            double ci = -ai[k] * scale;
+            re[k] = cr * chirpRe[k] - ci * chirpIm[k];
+            im[k] = cr * chirpIm[k] + ci * chirpRe[k];
+        }
+    }
+
+    private static void checkLength(double[] x, int expected) {
+        if (x.length != expected) {
+            throw new IllegalArgumentException(
+                    "length mismatch: expected = " + expected + ", array length = " + x.length);
+        }
+    }
+
+    /**
+     * 1段分のバタフライ演算を分割して並列に計算するタスク.
+     */
+    private static final class StageTask extends RecursiveAction {
+
+        private static final long serialVersionUID = 1L;
+
+        private final double[] re;
+        private final double[] im;
+        private final double[] cos;
+        private final double[] sin;
+        private final int n;
+        private final int half;
+        private final int from;
+        private final int to;
+
+        StageTask(double[] re, double[] im, double[] cos, double[] sin,
+                int n, int half, int from, int to) {
+            this.re = re;
+            this.im = im;
+            this.cos = cos;
+            this.sin = sin;
+            this.n = n;
+            this.half = half;
+            this.from = from;
+            this.to = to;
+        }
+
+        @Override
+        protected void compute() {
+            if (to - from <= PARALLEL_BUTTERFLIES) {
+                stage(re, im, cos, sin, n, half, from, to);
+                return;
+            }
+            int mid = (from + to) >>> 1;
+            invokeAll(
+                    new StageTask(re, im, cos, sin, n, half, from, mid),
+                    new StageTask(re, im, cos, sin, n, half, mid, to));
+        }
+    }
+}
@@ -0,0 +1,264 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+
+/**
+ * log-summation-exp:
+ * log_e [e^{x_1} + e^{x_2} + ... ]
+ * を逐次的に計算するアキュムレータ.
+ *
+ * <p>
+ * 内部状態は {@link Exponentiation#logSumExp(double...)} と同じ
+ * (exponent, coeff) の組であり,
+ * e^{x_1} + e^{x_2} + ... = coeff * e^{exponent} を表す.
+ * </p>
+ *
+ * <p>
+ * 値が追加されていない場合の結果は -inf.
+ * +inf が追加された場合は +inf, NaN が追加された場合は NaN となる.
+ * </p>
+ *
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * 並列ストリームで用いる場合は {@link #collector()} または
+ * {@link #collect(DoubleStream)} を用いる.
+ * </p>
+ */
+public final class LogSumExpAccumulator {
+
+    private double exponent = Double.NEGATIVE_INFINITY;
+    private double coeff = 1d;
+
+    /**
+     * 空の状態 (結果が -inf) のアキュムレータを構築する.
+     */
+    public LogSumExpAccumulator() {
+        super();
+    }
+
+    /**
+     * 空の状態に戻す.
+     */
+    public void reset() {
+        exponent = Double.NEGATIVE_INFINITY;
+        coeff = 1d;
+    }
+
+    /**
+     * 値を1個追加する.
+     *
+     * @param v 値
+     */
+    public void add(double v) {
+        if (v == Double.NEGATIVE_INFINITY) {
+            return;
+        }
+        if (v == Double.POSITIVE_INFINITY) {
+            exponent = Double.POSITIVE_INFINITY;
+            return;
+        }
+
+        if (v > exponent) {
+            coeff = coeff * Math.exp(exponent - v) + 1d;
+            exponent = v;
+        } else {
+            coeff += Math.exp(v - exponent);
+        }
+    }
+
+    /**
+     * 配列の範囲 x[offset], ..., x[offset + length - 1] を順に追加する.
+     *
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public void addAll(double[] x, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > x.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + x.length);
+        }
+        for (int j = offset, end = offset + length; j < end; j++) {
+            add(x[j]);
+        }
+    }
+
+    /**
+     * other の状態を合成する.
+     * other は変更されない.
+     *
+     * @param other 合成するアキュムレータ
+     * @throws NullPointerException null
+     */
+    public void merge(LogSumExpAccumulator other) {
+        mergeState(other.exponent, other.coeff);
+    }
+
+    /**
+     * 追加された値の log-summation-exp を返す.
+     *
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     */
+    public double result() {
+        return exponent + Math.log(coeff);
+    }
+
+    /**
+     * DoubleStream の log-summation-exp を計算する.
+     * 並列ストリームにも対応する.
+     *
+     * @param stream ストリーム
+     * @return log_e [e^{x_1} + e^{x_2} + ... ]
+     * @throws NullPointerException null
+     */
+    public static double collect(DoubleStream stream) {
+        return stream.collect(
+                LogSumExpAccumulator::new,
+                LogSumExpAccumulator::add,
+                LogSumExpAccumulator::merge)
+                .result();
+    }
+
+    /**
+     * Double のストリームの log-summation-exp を計算する Collector を返す.
+     * 並列ストリームにも対応する.
+     *
+     * @return log-summation-exp を計算する Collector
+     */
+    public static Collector<Double, ?, Double> collector() {
+        return Collector.of(
+                LogSumExpAccumulator::new,
+                LogSumExpAccumulator::add,
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                },
+                LogSumExpAccumulator::result);
+    }
+
+    /**
+     * 状態 (otherExponent, otherCoeff) を合成する.
+     */
+    private void mergeState(double otherExponent, double otherCoeff) {
+        // 指数が等しい場合 (+inf 同士, -inf 同士を含む) は係数を単純に加える.
+        // exp(inf - inf) = NaN を避けるため, 差をとる前に分岐する.
+        if (otherExponent > exponent) {
+            coeff = coeff * Math.exp(exponent - otherExponent) + otherCoeff;
+            exponent = otherExponent;
+        } else if (otherExponent == exponent) {
+            coeff += otherCoeff;
+        } else {
+            coeff += otherCoeff * Math.exp(otherExponent - exponent);
+        }
+    }
+
+    /**
+     * 配列の範囲 x[offset], ..., x[offset + length - 1] を追加する.
+     * 範囲の検証は呼び出し側で行う.
+     */
+    void accumulate(double[] x, int offset, int length) {
+        /*
+         * 2パスで計算する.
+         * 1パス目で最大値を求め, 2パス目で exp(v - max) の和を求める.
+         * 要素ごとの最大値の更新 (分岐と再スケーリング) がなく,
+         * 独立な4本のアキュムレータで依存チェーンを短くできる.
+         */
+        double max = Exponentiation.max(x, offset, length);
+
+        if (max == Double.NEGATIVE_INFINITY) {
+            // 全要素が -inf (空を含む)
+            return;
+        }
+        if (Double.isNaN(max)) {
+            coeff = Double.NaN;
+            return;
+        }
+        if (max == Double.POSITIVE_INFINITY) {
+            mergeState(Double.POSITIVE_INFINITY, 1d);
+            return;
+        }
+
+        // exp(v - max) <= 1 であり, 和は length 以下
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        int end = offset + length;
+        int j = offset;
+        for (int end4 = end - 3; j < end4; j += 4) {
+            sum0 += Math.exp(x[j] - max);
+            sum1 += Math.exp(x[j + 1] - max);
+            sum2 += Math.exp(x[j + 2] - max);
+            sum3 += Math.exp(x[j + 3] - max);
+        }
+        for (; j < end; j++) {
+            sum0 += Math.exp(x[j] - max);
+        }
+        mergeState(max, (sum0 + sum1) + (sum2 + sum3));
+    }
+
+    /**
+     * 2つの配列の範囲の和
+     * a[aOffset + k] + x[xOffset + k] (k = 0, ..., length - 1)
+     * を追加する.
+     * 範囲の検証は呼び出し側で行う.
+     */
+    void accumulateSum(double[] a, int aOffset, double[] x, int xOffset, int length) {
+        // accumulate と同じく2パスで計算する
+        double max0 = Double.NEGATIVE_INFINITY;
+        double max1 = Double.NEGATIVE_INFINITY;
+        double max2 = Double.NEGATIVE_INFINITY;
+        double max3 = Double.NEGATIVE_INFINITY;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4) {
+            max0 = Math.max(max0, a[aOffset + k] + x[xOffset + k]);
+            max1 = Math.max(max1, a[aOffset + k + 1] + x[xOffset + k + 1]);
+            max2 = Math.max(max2, a[aOffset + k + 2] + x[xOffset + k + 2]);
+            max3 = Math.max(max3, a[aOffset + k + 3] + x[xOffset + k + 3]);
+        }
+        for (; k < length; k++) {
+            max0 = Math.max(max0, a[aOffset + k] + x[xOffset + k]);
+        }
+        double max = Math.max(Math.max(max0, max1), Math.max(max2, max3));
+
+        if (max == Double.NEGATIVE_INFINITY) {
+            return;
+        }
+        if (Double.isNaN(max)) {
+            coeff = Double.NaN;
+            return;
+        }
+        if (max == Double.POSITIVE_INFINITY) {
+            mergeState(Double.POSITIVE_INFINITY, 1d);
+            return;
+        }
+
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        k = 0;
+        for (int end = length - 3; k < end; k += 4) {
+            sum0 += Math.exp((a[aOffset + k] + x[xOffset + k]) - max);
+            sum1 += Math.exp((a[aOffset + k + 1] + x[xOffset + k + 1]) - max);
+            sum2 += Math.exp((a[aOffset + k + 2] + x[xOffset + k + 2]) - max);
+            sum3 += Math.exp((a[aOffset + k + 3] + x[xOffset + k + 3]) - max);
+        }
+        for (; k < length; k++) {
+            sum0 += Math.exp((a[aOffset + k] + x[xOffset + k]) - max);
+        }
+        mergeState(max, (sum0 + sum1) + (sum2 + sum3));
+    }
+}
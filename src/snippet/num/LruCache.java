@@ -0,0 +1,131 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.ToLongFunction;
+
+/**
+ * 要素数とバイト数の上限をもつ LRU キャッシュ.
+ *
+ * <p>
+ * 参照順の LinkedHashMap により, 最も長く参照されていない値から破棄する.
+ * 値のバイト数は構築時に与える関数により見積もる.
+ * 値を追加した後, 要素数またはバイト数の合計が上限を超える間は値を破棄する.
+ * バイト数が単独で上限を超える値はキャッシュしない.
+ * </p>
+ *
+ * <p>
+ * 各メソッドは同期化されており, スレッドセーフである.
+ * 値の構築はキャッシュの外で行い, {@link #addIfAbsent(Object, Object)} により登録する.
+ * </p>
+ *
+ * @param <K> キーの型
+ * @param <V> 値の型
+ */
+final class LruCache<K, V> {
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final ToLongFunction<? super V> bytesOf;
+
+    private final LinkedHashMap<K, V> map = new LinkedHashMap<>(16, 0.75f, true);
+
+    /**
+     * 保持している値のバイト数の合計.
+     */
+    private long totalBytes;
+
+    /**
+     * キャッシュを構築する.
+     *
+     * @param maxEntries 要素数の上限
+     * @param maxBytes バイト数の合計の上限
+     * @param bytesOf 値のバイト数の見積もり
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 上限が正でない場合
+     */
+    LruCache(int maxEntries, long maxBytes, ToLongFunction<? super V> bytesOf) {
+        if (maxEntries < 1 || maxBytes < 1L) {
+            throw new IllegalArgumentException(
+                    "not positive: maxEntries = " + maxEntries + ", maxBytes = " + maxBytes);
+        }
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.bytesOf = Objects.requireNonNull(bytesOf);
+    }
+
+    /**
+     * キーに対応する値を返す.
+     * 値は最も新しく参照されたものとなる.
+     *
+     * @param key キー
+     * @return 値, 存在しない場合は null
+     */
+    synchronized V get(K key) {
+        return map.get(key);
+    }
+
+    /**
+     * キーに対応する値が存在しない場合に値を登録する.
+     *
+     * <p>
+     * すでに値が存在する場合は, 登録せずにその値を返す.
+     * 値のバイト数が単独で上限を超える場合は, 登録せずに value を返す.
+     * </p>
+     *
+     * @param key キー
+     * @param value 値
+     * @return キャッシュ上の値, または value
+     * @throws NullPointerException null
+     */
+    synchronized V addIfAbsent(K key, V value) {
+        Objects.requireNonNull(value);
+        V cached = map.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long bytes = bytesOf.applyAsLong(value);
+        if (bytes > maxBytes) {
+            return value;
+        }
+
+        map.put(key, value);
+        totalBytes += bytes;
+        // 追加した値 (最新) は破棄しない
+        Iterator<Map.Entry<K, V>> it = map.entrySet().iterator();
+        while (map.size() > maxEntries || totalBytes > maxBytes) {
+            Map.Entry<K, V> eldest = it.next();
+            totalBytes -= bytesOf.applyAsLong(eldest.getValue());
+            it.remove();
+        }
+        return value;
+    }
+
+    /**
+     * 保持している値の個数を返す.
+     *
+     * @return 個数
+     */
+    synchronized int size() {
+        return map.size();
+    }
+
+    /**
+     * 保持している値のバイト数の合計を返す.
+     *
+     * @return バイト数の合計
+     */
+    synchronized long totalBytes() {
+        return totalBytes;
+    }
+}
@@ -0,0 +1,342 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+import java.util.stream.Collector;
+import java.util.stream.DoubleStream;
+
+/**
+ * 2-norm:
+ * sqrt(|x_1|^2 + |x_2|^2 + ... )
+ * を逐次的に計算するアキュムレータ.
+ *
+ * <p>
+ * 内部状態は {@link ArrayVec#norm2(double...)} と同じ (scale, sum) の組であり,
+ * |x_1|^2 + |x_2|^2 + ... = sum * scale^2 を表す.
+ * scale は 2^(-1022) 以上の2の累乗で, オーバーフロー, アンダーフローを起こさない.
+ * </p>
+ *
+ * <p>
+ * 非有限値 (inf, NaN) が追加された場合, 結果は最初に追加された非有限値の絶対値となる.
+ * </p>
+ *
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * 並列ストリームで用いる場合は {@link #collector()} または
+ * {@link #collect(DoubleStream)} を用いる.
+ * </p>
+ */
+public final class Norm2Accumulator {
+
+    /*
+     * 非有限値 v を検出した後は scale = |v|, sum = 1 とし,
+     * 以降の累積, 合成では変化しない.
+     */
+    private double scale = Double.MIN_NORMAL; // 2^(-1022)
+    private double sum = 0d;
+
+    /**
+     * 空の状態 (結果が 0) のアキュムレータを構築する.
+     */
+    public Norm2Accumulator() {
+        super();
+    }
+
+    /**
+     * 空の状態に戻す.
+     */
+    public void reset() {
+        scale = Double.MIN_NORMAL;
+        sum = 0d;
+    }
+
+    /**
+     * 値を1個追加する.
+     *
+     * @param v 値
+     */
+    public void add(double v) {
+        if (!Double.isFinite(scale)) {
+            return;
+        }
+
+        double absV = Math.abs(v);
+
+        if (!Double.isFinite(absV)) {
+            setNonFinite(absV);
+            return;
+        }
+
+        // neally-equals:
+        //    Math.scalb(1.0, Math.getExponent(absV))
+        //    or zero
+        double candidateScale =
+                Double.longBitsToDouble(
+                        Double.doubleToRawLongBits(absV) & 0xFFF0_0000_0000_0000L);
+
+        /*
+         * scale > candidateScale
+         * -> coeff = 1, maintaining scale
+         *
+         * scale < candidateScale
+         * -> coeff = scale / candidateScale, scale = candidateScales
+         */
+        double coeff = Math.min(1.0, scale / candidateScale);
+        scale = Math.max(scale, candidateScale);
+
+        double scaledAbsV = absV / scale;
+        sum = sum * coeff * coeff + scaledAbsV * scaledAbsV;
+    }
+
+    /**
+     * 配列の範囲 x[offset], ..., x[offset + length - 1] を順に追加する.
+     *
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public void addAll(double[] x, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > x.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + x.length);
+        }
+        accumulate(x, offset, length, 1);
+    }
+
+    /**
+     * other の状態を (this の後ろに続く値として) 合成する.
+     * other は変更されない.
+     *
+     * @param other 合成するアキュムレータ
+     * @throws NullPointerException null
+     */
+    public void merge(Norm2Accumulator other) {
+        if (!Double.isFinite(scale)) {
+            return;
+        }
+        if (!Double.isFinite(other.scale)) {
+            setNonFinite(other.scale);
+            return;
+        }
+        mergeState(other.scale, other.sum);
+    }
+
+    /**
+     * 追加された値の 2-norm を返す.
+     *
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     */
+    public double result() {
+        return Math.sqrt(sum) * scale;
+    }
+
+    /**
+     * DoubleStream の 2-norm を計算する.
+     * 並列ストリームにも対応する.
+     *
+     * @param stream ストリーム
+     * @return sqrt(|x_1|^2 + |x_2|^2 + ... )
+     * @throws NullPointerException null
+     */
+    public static double collect(DoubleStream stream) {
+        return stream.collect(
+                Norm2Accumulator::new,
+                Norm2Accumulator::add,
+                Norm2Accumulator::merge)
+                .result();
+    }
+
+    /**
+     * Double のストリームの 2-norm を計算する Collector を返す.
+     * 並列ストリームにも対応する.
+     *
+     * @return 2-norm を計算する Collector
+     */
+    public static Collector<Double, ?, Double> collector() {
+        return Collector.of(
+                Norm2Accumulator::new,
+                Norm2Accumulator::add,
+                (left, right) -> {
+                    left.merge(right);
+                    return left;
+                },
+                Norm2Accumulator::result);
+    }
+
+    /**
+     * 有限な状態 (otherScale, otherSum) を合成する.
+     * this は有限な状態であることが前提.
+     */
+    private void mergeState(double otherScale, double otherSum) {
+        if (otherScale > scale) {
+            double coeff = scale / otherScale;
+            sum = sum * coeff * coeff + otherSum;
+            scale = otherScale;
+        } else {
+            double coeff = otherScale / scale;
+            sum = sum + otherSum * coeff * coeff;
+        }
+    }
+
+    private void setNonFinite(double absV) {
+        scale = absV;
+        sum = 1d;
+    }
+
+    /**
+     * 部分ベクトル
+     * (x[offset], x[offset + stride], ..., x[offset + (length - 1) * stride])
+     * を順に追加する. 範囲の検証は呼び出し側で行う.
+     */
+    void accumulate(double[] x, int offset, int length, int stride) {
+        if (!Double.isFinite(scale)) {
+            return;
+        }
+
+        /*
+         * 高速経路: スケーリングせずに二乗和と最大絶対値を求める.
+         * 
+         * 2^(-460) <= max < 2^480 ならば,
+         * - 二乗和は length * 2^960 < 2^991 以下でオーバーフローしない.
+         * - 二乗がアンダーフローする要素の誤差は合計でも 2^(-1044) 程度であり,
+         *   二乗和 >= max^2 >= 2^(-920) に対して無視できる.
+         * それ以外 (NaN, inf を含む) の場合はスケーリングする経路で計算し直す.
+         */
+        double sum0 = 0d;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        double max0 = 0d;
+        double max1 = 0d;
+        double max2 = 0d;
+        double max3 = 0d;
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            double v0 = x[p];
+            double v1 = x[p + stride];
+            double v2 = x[p + 2 * stride];
+            double v3 = x[p + 3 * stride];
+            sum0 += v0 * v0;
+            sum1 += v1 * v1;
+            sum2 += v2 * v2;
+            sum3 += v3 * v3;
+            max0 = Math.max(max0, Math.abs(v0));
+            max1 = Math.max(max1, Math.abs(v1));
+            max2 = Math.max(max2, Math.abs(v2));
+            max3 = Math.max(max3, Math.abs(v3));
+        }
+        for (; k < length; k++, p += stride) {
+            double v = x[p];
+            sum0 += v * v;
+            max0 = Math.max(max0, Math.abs(v));
+        }
+        double max = Math.max(Math.max(max0, max1), Math.max(max2, max3));
+
+        if (max >= 0x1p-460 && max < 0x1p480) {
+            // 二乗和を 2の累乗 の scale で正規化して合成する (正確な演算)
+            double blockScale =
+                    Double.longBitsToDouble(
+                            Double.doubleToRawLongBits(max) & 0xFFF0_0000_0000_0000L);
+            double invBlockScale = 1d / blockScale;
+            double blockSum = ((sum0 + sum1) + (sum2 + sum3)) * invBlockScale * invBlockScale;
+            mergeState(blockScale, blockSum);
+            return;
+        }
+        if (max == 0d) {
+            // すべて 0
+            return;
+        }
+        accumulateScaled(x, offset, length, stride);
+    }
+
+    /**
+     * 要素ごとにスケーリングしながら追加する.
+     */
+    private void accumulateScaled(double[] x, int offset, int length, int stride) {
+        double sum0 = sum;
+        double sum1 = 0d;
+        double sum2 = 0d;
+        double sum3 = 0d;
+        double scale = this.scale;
+        // scale は2の累乗なので, 1/scale は正確に表現でき,
+        // absV / scale と absV * invScale は一致する.
+        double invScale = 1d / scale;
+
+        // 4要素ずつのブロックで scale を更新する
+        // (独立な4本のアキュムレータに分けて依存チェーンを短くする)
+        int p = offset;
+        int k = 0;
+        for (int end = length - 3; k < end; k += 4, p += 4 * stride) {
+            double absV0 = Math.abs(x[p]);
+            double absV1 = Math.abs(x[p + stride]);
+            double absV2 = Math.abs(x[p + 2 * stride]);
+            double absV3 = Math.abs(x[p + 3 * stride]);
+
+            // NaN は Math.max で伝播する
+            double blockMax = Math.max(Math.max(absV0, absV1), Math.max(absV2, absV3));
+            if (!Double.isFinite(blockMax)) {
+                // ブロック内で最初に現れた非有限値を保持する
+                setNonFinite(firstNonFinite(absV0, absV1, absV2, absV3));
+                return;
+            }
+
+            // neally-equals:
+            //    Math.scalb(1.0, Math.getExponent(blockMax))
+            //    or zero
+            double candidateScale =
+                    Double.longBitsToDouble(
+                            Double.doubleToRawLongBits(blockMax) & 0xFFF0_0000_0000_0000L);
+            if (candidateScale > scale) {
+                double coeff = scale / candidateScale;
+                sum0 = sum0 * coeff * coeff;
+                sum1 = sum1 * coeff * coeff;
+                sum2 = sum2 * coeff * coeff;
+                sum3 = sum3 * coeff * coeff;
+                scale = candidateScale;
+                invScale = 1d / candidateScale;
+            }
+
+            double scaledAbsV0 = absV0 * invScale;
+            double scaledAbsV1 = absV1 * invScale;
+            double scaledAbsV2 = absV2 * invScale;
+            double scaledAbsV3 = absV3 * invScale;
+            sum0 += scaledAbsV0 * scaledAbsV0;
+            sum1 += scaledAbsV1 * scaledAbsV1;
+            sum2 += scaledAbsV2 * scaledAbsV2;
+            sum3 += scaledAbsV3 * scaledAbsV3;
+        }
+        this.scale = scale;
+        this.sum = (sum0 + sum1) + (sum2 + sum3);
+
+        for (; k < length; k++, p += stride) {
+            add(x[p]);
+        }
+    }
+
+    /**
+     * 4値のうち最初に現れる非有限値 (inf または NaN) を返す.
+     * 非有限値が含まれることが前提.
+     */
+    private static double firstNonFinite(double v0, double v1, double v2, double v3) {
+        if (!Double.isFinite(v0)) {
+            return v0;
+        }
+        if (!Double.isFinite(v1)) {
+            return v1;
+        }
+        if (!Double.isFinite(v2)) {
+            return v2;
+        }
+        return v3;
+    }
+}
@@ -0,0 +1,155 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+/**
+ * 同一の底 x に対する整数乗 (x^n) を, 多数の指数 n について計算するための事前計算表.
+ *
+ * <p>
+ * x^(2^k) および (1/x)^(2^k) (k = 0, ..., 31) を事前に計算しておき,
+ * {@link #pow(int)} では指数の立っているビットに対応する値のみを乗じる.
+ * 事前計算と乗算の順序は {@link Exponentiation#pow(double, int)} と同一であり,
+ * 結果も一致する.
+ * </p>
+ *
+ * <p>
+ * 構築時に密な表の上限 K を指定した場合, x^0, x^1, ..., x^K も事前に計算し,
+ * 0 &lt;= n &lt;= K の x^n は表の参照のみで返す.
+ * 密な表の値も {@link Exponentiation#pow(double, int)} と同じ乗算の順序で計算される.
+ * </p>
+ *
+ * <p>
+ * {@link #reset(double)} により底を変更できる.
+ * 表は構築時に確保され, reset では新たなメモリ確保を行わない.
+ * </p>
+ *
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ */
+public final class PowerLadder {
+
+    /**
+     * 指数のビット数.
+     */
+    private static final int BITS = Integer.SIZE;
+
+    private double base;
+
+    /**
+     * ladder[k] = x^(2^k).
+     */
+    private final double[] ladder = new double[BITS];
+
+    /**
+     * inverseLadder[k] = (1/x)^(2^k).
+     */
+    private final double[] inverseLadder = new double[BITS];
+
+    /**
+     * dense[n] = x^n (0 &lt;= n &lt;= K). 密な表を用いない場合は長さ 0.
+     */
+    private final double[] dense;
+
+    /**
+     * 密な表を持たない事前計算表を構築する.
+     * 底は 1 で初期化される.
+     */
+    public PowerLadder() {
+        this(-1);
+    }
+
+    /**
+     * x^0, ..., x^denseMax の密な表を持つ事前計算表を構築する.
+     * 底は 1 で初期化される.
+     *
+     * <p>
+     * denseMax = -1 の場合は密な表を持たない.
+     * </p>
+     *
+     * @param denseMax 密な表の指数の上限 K
+     * @throws IllegalArgumentException denseMax が -1 未満の場合
+     */
+    public PowerLadder(int denseMax) {
+        if (denseMax < -1) {
+            throw new IllegalArgumentException("denseMax < -1: denseMax = " + denseMax);
+        }
+        this.dense = new double[denseMax + 1];
+        reset(1d);
+    }
+
+    /**
+     * 底を x に変更し, 表を計算し直す.
+     *
+     * @param x 底
+     */
+    public void reset(double x) {
+        this.base = x;
+
+        // Exponentiation.pow と同じく, 負の指数には 1/x の累乗を用いる
+        double xp = x;
+        double inverseXp = 1 / x;
+        for (int k = 0; k < BITS; k++) {
+            ladder[k] = xp;
+            inverseLadder[k] = inverseXp;
+            xp = xp * xp;
+            inverseXp = inverseXp * inverseXp;
+        }
+
+        if (dense.length > 0) {
+            dense[0] = 1d;
+            for (int n = 1; n < dense.length; n++) {
+                // Exponentiation.pow は下位ビットから順に乗じるため,
+                // 最上位ビットを除いた指数の値に, 最上位ビットの累乗を最後に乗じる
+                int highestBit = Integer.highestOneBit(n);
+                dense[n] = dense[n - highestBit] * ladder[Integer.numberOfTrailingZeros(highestBit)];
+            }
+        }
+    }
+
+    /**
+     * 現在の底を返す.
+     *
+     * @return 底 x
+     */
+    public double base() {
+        return base;
+    }
+
+    /**
+     * 整数乗 (x^n) を返す.
+     * n = 0 のとき 1.
+     *
+     * <p>
+     * 結果は {@link Exponentiation#pow(double, int) Exponentiation.pow(x, n)} と一致する.
+     * </p>
+     *
+     * @param n 指数
+     * @return x^n
+     */
+    public double pow(int n) {
+        if (0 <= n && n < dense.length) {
+            return dense[n];
+        }
+
+        double[] powers = ladder;
+        // n = -2^{31} の場合, -n = 2^{31} と解釈する
+        int np = n;
+        if (n < 0) {
+            powers = inverseLadder;
+            np = -n;
+        }
+
+        double value = 1d;
+        for (; np != 0; np &= np - 1) {
+            value *= powers[Integer.numberOfTrailingZeros(np)];
+        }
+        return value;
+    }
+}
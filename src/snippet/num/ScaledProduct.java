@@ -0,0 +1,315 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+/**
+ * 積:
+ * x_1 * x_2 * ...
+ * を, オーバーフロー, アンダーフローを起こさずに逐次的に計算するアキュムレータ.
+ *
+ * <p>
+ * 積を mantissa * 2^exponent の形で保持する.
+ * mantissa は符号付きで, 絶対値は [1, 2) に正規化される.
+ * exponent は long であり, 各要素の2進指数をビット演算により正確に加算する.
+ * したがって, 丸め誤差は mantissa 同士の乗算のみから生じ,
+ * 対数 ({@link #logAbs()}) の計算では {@link Math#log(double)} を最後に1回だけ呼ぶ.
+ * </p>
+ *
+ * <p>
+ * 特殊値を含む場合, mantissa は特殊値となる.
+ * 0 を含む場合は 0 (符号付き), inf を含む場合は inf (符号付き),
+ * NaN を含む場合, および 0 と inf を両方含む場合は NaN である.
+ * 値が追加されていない場合の積は 1.
+ * </p>
+ *
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ *
+ * @see Exponentiation#logMultiplyAbs(double...)
+ */
+public final class ScaledProduct {
+
+    /**
+     * 正の正規化数の指数部のバイアス.
+     */
+    private static final int EXPONENT_BIAS = 1023;
+
+    /**
+     * 指数部のビットマスク.
+     */
+    private static final long EXPONENT_MASK = 0x7FF0_0000_0000_0000L;
+
+    /**
+     * 1.0 のビット表現 (指数部のみ).
+     */
+    private static final long ONE_BITS = 0x3FF0_0000_0000_0000L;
+
+    /**
+     * 符号部と仮数部のビットマスク.
+     */
+    private static final long SIGN_AND_FRACTION_MASK = 0x800F_FFFF_FFFF_FFFFL;
+
+    /**
+     * 仮数部のビットマスク.
+     */
+    private static final long FRACTION_MASK = 0x000F_FFFF_FFFF_FFFFL;
+
+    /**
+     * 一括乗算において, 正規化せずに乗算する回数.
+     * [1, 2) の値の 256 個の積は 2^256 未満であり, オーバーフローしない.
+     */
+    private static final int RENORMALIZE_INTERVAL = 256;
+
+    /**
+     * log(2) の上位部分 (下位ビットが 0 である). <br>
+     * |e| &lt;= 2^20 の整数 e との積 e * LN2_HI は正確であり, 分割はこの範囲で意味をもつ.
+     * それより大きい e では積は丸められるが, その誤差は結果の 0.5 ulp 程度である.
+     */
+    private static final double LN2_HI = 0x1.62e42fee00000p-1;
+
+    /**
+     * log(2) の下位部分: log(2) - LN2_HI.
+     */
+    private static final double LN2_LO = 0x1.a39ef35793c76p-33;
+
+    private double mantissa = 1d;
+    private long exponent = 0L;
+
+    /**
+     * 空の状態 (積が 1) のアキュムレータを構築する.
+     */
+    public ScaledProduct() {
+        super();
+    }
+
+    /**
+     * 空の状態に戻す.
+     */
+    public void reset() {
+        mantissa = 1d;
+        exponent = 0L;
+    }
+
+    /**
+     * 値を1個乗じる.
+     *
+     * @param v 値
+     */
+    public void multiply(double v) {
+        long bits = Double.doubleToRawLongBits(v);
+        int biased = (int) ((bits & EXPONENT_MASK) >>> 52);
+        if (biased == 0 || biased == 0x7FF) {
+            multiplySpecial(v);
+            return;
+        }
+
+        exponent += biased - EXPONENT_BIAS;
+        mantissa *= Double.longBitsToDouble((bits & SIGN_AND_FRACTION_MASK) | ONE_BITS);
+        normalize();
+    }
+
+    /**
+     * 配列の範囲 x[offset], ..., x[offset + length - 1] を乗じる.
+     *
+     * <p>
+     * 独立な4本の積に分けて乗算し,
+     * 一定回数ごとにのみ正規化する.
+     * </p>
+     *
+     * @param x 配列
+     * @param offset 先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public void multiplyAll(double[] x, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > x.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + x.length);
+        }
+
+        // 各レーンは仮数部の絶対値の積, 符号は signBits の最上位ビットで管理する
+        double m0 = 1d;
+        double m1 = 1d;
+        double m2 = 1d;
+        double m3 = 1d;
+        long e = 0L;
+        long signBits = 0L;
+
+        int end = offset + length;
+        int j = offset;
+        while (j < end - 3) {
+            int blockEnd = (int) Math.min(end - 3, j + 4L * RENORMALIZE_INTERVAL);
+            for (; j < blockEnd; j += 4) {
+                long b0 = Double.doubleToRawLongBits(x[j]);
+                long b1 = Double.doubleToRawLongBits(x[j + 1]);
+                long b2 = Double.doubleToRawLongBits(x[j + 2]);
+                long b3 = Double.doubleToRawLongBits(x[j + 3]);
+                int k0 = (int) ((b0 & EXPONENT_MASK) >>> 52);
+                int k1 = (int) ((b1 & EXPONENT_MASK) >>> 52);
+                int k2 = (int) ((b2 & EXPONENT_MASK) >>> 52);
+                int k3 = (int) ((b3 & EXPONENT_MASK) >>> 52);
+                if (k0 == 0 || k0 == 0x7FF || k1 == 0 || k1 == 0x7FF
+                        || k2 == 0 || k2 == 0x7FF || k3 == 0 || k3 == 0x7FF) {
+                    // 0, 非正規化数, 非有限値を含むブロックは1個ずつ乗じる (積は可換)
+                    multiply(x[j]);
+                    multiply(x[j + 1]);
+                    multiply(x[j + 2]);
+                    multiply(x[j + 3]);
+                    continue;
+                }
+
+                e += (k0 + k1) + (k2 + k3) - 4 * EXPONENT_BIAS;
+                signBits ^= (b0 ^ b1) ^ (b2 ^ b3);
+                m0 *= Double.longBitsToDouble((b0 & FRACTION_MASK) | ONE_BITS);
+                m1 *= Double.longBitsToDouble((b1 & FRACTION_MASK) | ONE_BITS);
+                m2 *= Double.longBitsToDouble((b2 & FRACTION_MASK) | ONE_BITS);
+                m3 *= Double.longBitsToDouble((b3 & FRACTION_MASK) | ONE_BITS);
+            }
+
+            // 各レーンを [1, 2) に戻す (正確な演算)
+            e += Math.getExponent(m0) + Math.getExponent(m1)
+                    + Math.getExponent(m2) + Math.getExponent(m3);
+            m0 = normalizedFraction(m0);
+            m1 = normalizedFraction(m1);
+            m2 = normalizedFraction(m2);
+            m3 = normalizedFraction(m3);
+        }
+
+        // レーンの積は [1, 16) であり, 正規化は1回では済まない
+        exponent += e;
+        mantissa *= (m0 * m1) * (m2 * m3);
+        if (signBits < 0L) {
+            mantissa = -mantissa;
+        }
+        if (mantissa != 0d && Double.isFinite(mantissa)) {
+            exponent += Math.getExponent(mantissa);
+            mantissa = Double.longBitsToDouble(
+                    (Double.doubleToRawLongBits(mantissa) & SIGN_AND_FRACTION_MASK) | ONE_BITS);
+        }
+
+        for (; j < end; j++) {
+            multiply(x[j]);
+        }
+    }
+
+    /**
+     * other の積を乗じる.
+     * other は変更されない.
+     *
+     * @param other 乗じるアキュムレータ
+     * @throws NullPointerException null
+     */
+    public void multiply(ScaledProduct other) {
+        exponent += other.exponent;
+        mantissa *= other.mantissa;
+        normalize();
+    }
+
+    /**
+     * 積の絶対値の自然対数を返す.
+     *
+     * @return log_e [|x_1||x_2| ... ]
+     */
+    public double logAbs() {
+        double absMantissa = Math.abs(mantissa);
+        if (absMantissa == 0d) {
+            return Double.NEGATIVE_INFINITY;
+        }
+        if (!Double.isFinite(absMantissa)) {
+            // inf または NaN
+            return absMantissa;
+        }
+        double e = exponent;
+        return (e * LN2_HI + Math.log(absMantissa)) + e * LN2_LO;
+    }
+
+    /**
+     * 積の符号を返す.
+     *
+     * @return 積が正ならば 1, 負ならば -1, 0 ならば 0 (符号付き), NaN ならば NaN
+     */
+    public double signum() {
+        return Math.signum(mantissa);
+    }
+
+    /**
+     * 積の値を double で返す.
+     * double の範囲外の場合は inf または 0 となる.
+     *
+     * @return x_1 * x_2 * ...
+     */
+    public double value() {
+        if (mantissa == 0d || !Double.isFinite(mantissa)) {
+            return mantissa;
+        }
+        // scalb の指数は double の範囲を超えれば十分
+        int e = (int) Math.max(-2200L, Math.min(2200L, exponent));
+        return Math.scalb(mantissa, e);
+    }
+
+    /**
+     * 正規化された仮数を返す.
+     * 積が有限かつ 0 でない場合, 絶対値は [1, 2) である.
+     *
+     * @return mantissa
+     */
+    public double mantissa() {
+        return mantissa;
+    }
+
+    /**
+     * 2進指数を返す.
+     * 積が有限かつ 0 でない場合, 積は mantissa * 2^exponent である.
+     *
+     * @return exponent
+     */
+    public long exponent() {
+        return exponent;
+    }
+
+    /**
+     * 0, 非正規化数, 非有限値を乗じる.
+     */
+    private void multiplySpecial(double v) {
+        if (v == 0d || !Double.isFinite(v)) {
+            // 0 * inf = NaN を含め, 特殊値の規則に従う
+            mantissa *= v;
+            return;
+        }
+
+        // 非正規化数は 2^54 倍して正規化数として扱う
+        double scaled = v * 0x1p54;
+        long bits = Double.doubleToRawLongBits(scaled);
+        exponent += (int) ((bits & EXPONENT_MASK) >>> 52) - EXPONENT_BIAS - 54;
+        mantissa *= Double.longBitsToDouble((bits & SIGN_AND_FRACTION_MASK) | ONE_BITS);
+        normalize();
+    }
+
+    /**
+     * mantissa の絶対値を [1, 2) に戻す.
+     * 乗算の直後は絶対値が [1, 4) であることが前提.
+     * 特殊値の場合は変化しない.
+     */
+    private void normalize() {
+        if (Math.abs(mantissa) >= 2d) {
+            mantissa *= 0.5;
+            exponent++;
+        }
+    }
+
+    /**
+     * 正の正規化数 v の仮数 (v / 2^getExponent(v)) を返す.
+     */
+    private static double normalizedFraction(double v) {
+        return Double.longBitsToDouble((Double.doubleToRawLongBits(v) & FRACTION_MASK) | ONE_BITS);
+    }
+}
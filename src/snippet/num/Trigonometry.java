@@ -4,7 +4,7 @@
  */
 
 /*
- * 2026.1.9
+ * 2026.10.17
  */
 package snippet.num;
 
@@ -13,6 +13,45 @@ package snippet.num;
  */
 public final class Trigonometry {
 
+    /**
+     * tanpi の区間ごとの公式 (a + b * t) / (c + d * t) の係数.
+     * 添え字は平行移動量 k の下位2ビット. <br>
+     * 0: t, 1: (1 + t) / (1 - t), 2: -1 / t, 3: (-1 + t) / (1 + t).
+     * -0.0 は t の符号付きゼロを保つため.
+     */
+    private static final double[] TANPI_NUM_A = { -0d, 1d, -1d, -1d };
+    private static final double[] TANPI_NUM_B = { 1d, 1d, 0d, 1d };
+    private static final double[] TANPI_DEN_C = { 1d, 1d, -0d, 1d };
+    private static final double[] TANPI_DEN_D = { 0d, -1d, 1d, 1d };
+
+    /**
+     * sin(pi * t) (|t| &lt;= 1/4) の minimax 多項式の係数. <br>
+     * sin(pi * t) = t * (S0 + S1 * t^2 + ... + S6 * t^12)
+     * (相対誤差 3.4E-18 以下, 係数の丸めを除く). <br>
+     * S0 は上位 26 ビットの S0_HI と残りの S0_LO に分割して保持する.
+     */
+    private static final double SINPI_S0_HI = 0x1.921fb5p1;
+    private static final double SINPI_S0_LO = 3.178650953641754E-8;
+    private static final double SINPI_S1 = -5.167712780049954;
+    private static final double SINPI_S2 = 2.550164039873253;
+    private static final double SINPI_S3 = -0.5992645289314368;
+    private static final double SINPI_S4 = 0.08214586893043412;
+    private static final double SINPI_S5 = -0.0073700180724860336;
+    private static final double SINPI_S6 = 0.0004615132455355202;
+
+    /**
+     * cos(pi * t) (|t| &lt;= 1/4) の minimax 多項式の係数. <br>
+     * cos(pi * t) = 1 + t^2 * (C1 + C2 * t^2 + ... + C7 * t^12)
+     * (相対誤差 3.9E-20 以下, 係数の丸めを除く).
+     */
+    private static final double COSPI_C1 = -4.934802200544679;
+    private static final double COSPI_C2 = 4.058712126416749;
+    private static final double COSPI_C3 = -1.3352627688520045;
+    private static final double COSPI_C4 = 0.235330630192913;
+    private static final double COSPI_C5 = -0.02580688567120451;
+    private static final double COSPI_C6 = 0.001929465720528029;
+    private static final double COSPI_C7 = -0.00010356657453520075;
+
     private Trigonometry() {
         // インスタンス化不可
         throw new AssertionError();
@@ -132,6 +171,318 @@ public final class Trigonometry {
         }
     }
 
+    /**
+     * 配列の各要素 x に対する sin(pi * x) の計算.
+     * 
+     * <p>
+     * 結果は {@link #sinpi(double)} と一致する (NaN の場合はビット表現を除く). <br>
+     * 低速な剰余演算子 (%) を, 0 方向への丸めによる正確な剰余の計算に置き換え,
+     * 剰余をとった後の分岐を, 整数演算による平行移動量と符号の選択に置き換えている.
+     * 位相が不規則に分布する場合に, 分岐予測の失敗を避けられる. <br>
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void sinpi(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        sinpiKernel(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の各要素 x に対する sin(pi * x) を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法は {@link #sinpi(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void sinpi(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        sinpiKernel(in, inOffset, out, outOffset, length);
+    }
+
+    /**
+     * 配列の各要素 x に対する cos(pi * x) の計算.
+     * 
+     * <p>
+     * 結果は {@link #cospi(double)} と一致する (NaN の場合はビット表現を除く).
+     * 計算方法は {@link #sinpi(double[], double[])} と同様である. <br>
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void cospi(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        cospiKernel(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の各要素 x に対する cos(pi * x) を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法は {@link #cospi(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void cospi(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        cospiKernel(in, inOffset, out, outOffset, length);
+    }
+
+    /**
+     * 配列の各要素 x に対する tan(pi * x) の計算.
+     * 
+     * <p>
+     * 結果は {@link #tanpi(double)} と一致する (NaN の場合はビット表現を除く).
+     * 8分割した区間ごとの公式の選択を, 
+     * (a + b * t) / (c + d * t) の係数の表引きに置き換えている. <br>
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void tanpi(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        tanpiKernel(in, 0, out, 0, in.length);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の各要素 x に対する tan(pi * x) を
+     * (out[outOffset], ..., out[outOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法は {@link #tanpi(double[], double[])} と同じ.
+     * in と out が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param out 結果の格納先
+     * @param outOffset 結果の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void tanpi(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(out.length, outOffset, length);
+        tanpiKernel(in, inOffset, out, outOffset, length);
+    }
+
+    /**
+     * sin(pi * x) と cos(pi * x) の同時計算.
+     * 
+     * <p>
+     * out[offset] に sin(pi * x), out[offset + 1] に cos(pi * x) を格納する. <br>
+     * 引数の縮約は1回のみである.
+     * x を 2 で割った剰余 r に対し, n = rint(2r), t = r - n/2 (|t| &lt;= 1/4) として,
+     * minimax 多項式により計算した sin(pi * t), cos(pi * t) を n の下位2ビット (象限) に応じて入れ替え, 符号を付ける. <br>
+     * 誤差は {@link #sinpi(double)}, {@link #cospi(double)} と同程度 (1 ulp 程度) であるが,
+     * 結果は一致するとは限らない.
+     * 整数, 半整数では正確な値 (0, ±1) となるが, cos の 0 の符号は異なりうる. <br>
+     * x が非有限の場合は, いずれも NaN.
+     * </p>
+     * 
+     * @param x x
+     * @param out 結果の格納先
+     * @param offset sin(pi * x) を格納するインデックス
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException offset, offset + 1 が配列外の場合
+     */
+    public static void sincospi(double x, double[] out, int offset) {
+        checkRange(out.length, offset, 2);
+        sincospi(x, out, offset, out, offset + 1);
+    }
+
+    /**
+     * 配列の各要素 x に対する sin(pi * x) と cos(pi * x) の同時計算.
+     * 
+     * <p>
+     * 計算方法は {@link #sincospi(double, double[], int)} と同じ.
+     * in と sinOut (または cosOut) は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param sinOut sin(pi * x) の格納先
+     * @param cosOut cos(pi * x) の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException 配列の長さが異なる場合
+     */
+    public static void sincospi(double[] in, double[] sinOut, double[] cosOut) {
+        checkSameLength(in, "in", sinOut, "sinOut");
+        checkSameLength(in, "in", cosOut, "cosOut");
+        sincospiKernel(in, 0, sinOut, 0, cosOut, 0, in.length);
+    }
+
+    /**
+     * 部分配列
+     * (in[inOffset], ..., in[inOffset + length - 1])
+     * の各要素 x に対する sin(pi * x) と cos(pi * x) を,
+     * それぞれ
+     * (sinOut[sinOffset], ..., sinOut[sinOffset + length - 1]),
+     * (cosOut[cosOffset], ..., cosOut[cosOffset + length - 1])
+     * に格納する.
+     * 
+     * <p>
+     * 計算方法は {@link #sincospi(double, double[], int)} と同じ.
+     * 入力と出力が同一の配列の場合, 範囲は一致しているか, 重ならないかのいずれかでなければならない.
+     * sinOut と cosOut の範囲は重なってはならない.
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param inOffset 入力の先頭要素のインデックス
+     * @param sinOut sin(pi * x) の格納先
+     * @param sinOffset sin(pi * x) の先頭要素のインデックス
+     * @param cosOut cos(pi * x) の格納先
+     * @param cosOffset cos(pi * x) の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public static void sincospi(double[] in, int inOffset,
+            double[] sinOut, int sinOffset, double[] cosOut, int cosOffset, int length) {
+        checkRange(in.length, inOffset, length);
+        checkRange(sinOut.length, sinOffset, length);
+        checkRange(cosOut.length, cosOffset, length);
+        sincospiKernel(in, inOffset, sinOut, sinOffset, cosOut, cosOffset, length);
+    }
+
+    /**
+     * 多項式近似による sin(pi * x) の計算.
+     * 
+     * <p>
+     * 引数の縮約は {@link #sincospi(double, double[], int)} と同じであり,
+     * |t| &lt;= 1/4 に縮約した後, sin(pi * t) または cos(pi * t) を
+     * t の minimax 多項式により直接計算する.
+     * {@link Math#sin(double)} を呼ばないため,
+     * 不正確な pi との乗算と, {@link Math#sin(double)} の内部での引数の縮約を避けられる. <br>
+     * 誤差は 1 ulp 程度であり, {@link #sinpi(double)} とは一致するとは限らない.
+     * 整数, 半整数では正確な値 (0, ±1) となる. <br>
+     * x が非有限の場合は NaN.
+     * </p>
+     * 
+     * @param x x
+     * @return sin(pi * x)
+     */
+    public static double sinpiMinimax(double x) {
+        double r = Math.copySign(x - 2d * truncate(x * 0.5), x);
+        int n = (int) Math.rint(2d * r);
+        double t = r - 0.5 * n;
+
+        // 象限 q: s, c, -s, -c
+        // 象限が不規則な場合の分岐予測の失敗を避けるため, 両方の多項式を計算して選択する
+        int q = n & 3;
+        double s = sinpiPolynomial(t);
+        double c = cospiPolynomial(t);
+        double v = (q & 1) == 0 ? s : c;
+        return v * (1 - (q & 2));
+    }
+
+    /**
+     * 多項式近似による cos(pi * x) の計算.
+     * 
+     * <p>
+     * 計算方法は {@link #sinpiMinimax(double)} と同じ.
+     * 誤差は 1 ulp 程度であり, {@link #cospi(double)} とは一致するとは限らない. <br>
+     * x が非有限の場合は NaN.
+     * </p>
+     * 
+     * @param x x
+     * @return cos(pi * x)
+     */
+    public static double cospiMinimax(double x) {
+        double r = Math.copySign(x - 2d * truncate(x * 0.5), x);
+        int n = (int) Math.rint(2d * r);
+        double t = r - 0.5 * n;
+
+        // 象限 q: c, -s, -c, s
+        int q = n & 3;
+        double s = sinpiPolynomial(t);
+        double c = cospiPolynomial(t);
+        double v = (q & 1) == 0 ? c : s;
+        return v * (1 - ((q + 1) & 2));
+    }
+
+    /**
+     * 配列の各要素 x に対する, 多項式近似による sin(pi * x) の計算.
+     * 
+     * <p>
+     * 結果は {@link #sinpiMinimax(double)} と一致する. <br>
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void sinpiMinimax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        for (int j = 0; j < in.length; j++) {
+            out[j] = sinpiMinimax(in[j]);
+        }
+    }
+
+    /**
+     * 配列の各要素 x に対する, 多項式近似による cos(pi * x) の計算.
+     * 
+     * <p>
+     * 結果は {@link #cospiMinimax(double)} と一致する. <br>
+     * in と out は同一の配列でもよい (in-place).
+     * </p>
+     * 
+     * @param in 入力配列
+     * @param out 結果の格納先
+     * @throws NullPointerException null
+     * @throws IllegalArgumentException in と out の長さが異なる場合
+     */
+    public static void cospiMinimax(double[] in, double[] out) {
+        checkSameLength(in, "in", out, "out");
+        for (int j = 0; j < in.length; j++) {
+            out[j] = cospiMinimax(in[j]);
+        }
+    }
+
     /**
      * asin(x) / pi の計算.
      * |x| > 1 ならば NaN.
@@ -218,6 +569,95 @@ public final class Trigonometry {
         return 0.5d - Math.atan(1d / x) / Math.PI;
     }
 
+    /**
+     * float 値に対する sin(pi * x) の計算.
+     * 
+     * <p>
+     * {@link #sinpi(double)} で計算し, float に丸める.
+     * 誤差は float の 1 ulp 程度である. <br>
+     * 引数が float のオーバーロードとしないのは,
+     * int などの引数が float 版に解決されることを避けるためである.
+     * </p>
+     * 
+     * @param x x
+     * @return sin(pi * x)
+     */
+    public static float sinpif(float x) {
+        return (float) sinpi(x);
+    }
+
+    /**
+     * float 値に対する cos(pi * x) の計算.
+     * 
+     * <p>
+     * {@link #cospi(double)} で計算し, float に丸める.
+     * 誤差は float の 1 ulp 程度である.
+     * </p>
+     * 
+     * @param x x
+     * @return cos(pi * x)
+     */
+    public static float cospif(float x) {
+        return (float) cospi(x);
+    }
+
+    /**
+     * float 値に対する tan(pi * x) の計算.
+     * 
+     * <p>
+     * {@link #tanpi(double)} で計算し, float に丸める.
+     * 誤差は float の 1 ulp 程度である.
+     * </p>
+     * 
+     * @param x x
+     * @return tan(pi * x)
+     */
+    public static float tanpif(float x) {
+        return (float) tanpi(x);
+    }
+
+    /**
+     * float 値に対する asin(x) / pi の計算.
+     * 
+     * <p>
+     * {@link #asinpi(double)} で計算し, float に丸める.
+     * </p>
+     * 
+     * @param x x
+     * @return asin(x) / pi
+     */
+    public static float asinpif(float x) {
+        return (float) asinpi(x);
+    }
+
+    /**
+     * float 値に対する acos(x) / pi の計算.
+     * 
+     * <p>
+     * {@link #acospi(double)} で計算し, float に丸める.
+     * </p>
+     * 
+     * @param x x
+     * @return acos(x) / pi
+     */
+    public static float acospif(float x) {
+        return (float) acospi(x);
+    }
+
+    /**
+     * float 値に対する atan(x) / pi の計算.
+     * 
+     * <p>
+     * {@link #atanpi(double)} で計算し, float に丸める.
+     * </p>
+     * 
+     * @param x x
+     * @return atan(x) / pi
+     */
+    public static float atanpif(float x) {
+        return (float) atanpi(x);
+    }
+
     /**
      * sinc関数の計算: sin(x) / x.
      * 
@@ -281,4 +721,140 @@ public final class Trigonometry {
         }
         return cospi(x) - 1d;
     }
+
+    private static void sinpiKernel(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            // x % 2d と同じ値, 非有限値は NaN となり, そのまま伝播する
+            double v = in[inOffset + j];
+            double x = Math.copySign(v - 2d * truncate(v * 0.5), v);
+
+            // c = (int) (2x) は -3 から 3,
+            // k = -2, -1, -1, 0, 1, 1, 2 は sinpi(double) の各 case の平行移動量
+            int c = (int) (2d * x);
+            int k = (c + Integer.signum(c)) / 2;
+            double sign = 1 - 2 * (k & 1);
+            out[outOffset + j] = sign * Math.sin(Math.PI * (x - k));
+        }
+    }
+
+    private static void cospiKernel(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            double v = in[inOffset + j];
+            double x = Math.abs(v - 2d * truncate(v * 0.5));
+
+            // c = 0 ならば -sin(pi(x - 0.5)), c = 1 ならば sin(pi(x - 1.5))
+            int c = (int) x;
+            double sign = 2 * c - 1;
+            out[outOffset + j] = sign * Math.sin(Math.PI * (x - (c + 0.5)));
+        }
+    }
+
+    private static void tanpiKernel(double[] in, int inOffset, double[] out, int outOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            // x % 1d と同じ値
+            double v = in[inOffset + j];
+            double x = Math.copySign(v - truncate(v), v);
+
+            // c = (int) (8x) は -7 から 7, k は -4 から 4
+            int c = (int) (8d * x);
+            int k = (c + Integer.signum(c)) / 2;
+            int q = k & 3;
+            double t = Math.tan(Math.PI * (x - k * 0.25));
+            out[outOffset + j] = (TANPI_NUM_A[q] + TANPI_NUM_B[q] * t)
+                    / (TANPI_DEN_C[q] + TANPI_DEN_D[q] * t);
+        }
+    }
+
+    private static void sincospiKernel(double[] in, int inOffset,
+            double[] sinOut, int sinOffset, double[] cosOut, int cosOffset, int length) {
+        for (int j = 0; j < length; j++) {
+            // 入力を先に読むため, in-place でもよい
+            sincospi(in[inOffset + j], sinOut, sinOffset + j, cosOut, cosOffset + j);
+        }
+    }
+
+    /**
+     * sin(pi * x) を sinOut[sinIndex] に, cos(pi * x) を cosOut[cosIndex] に格納する.
+     */
+    private static void sincospi(double x, double[] sinOut, int sinIndex, double[] cosOut, int cosIndex) {
+        // r = x % 2d, -2 < r < 2 (truncate の説明を参照)
+        double r = Math.copySign(x - 2d * truncate(x * 0.5), x);
+
+        // n は -4 から 4, |t| <= 1/4 であり, t は正確に計算される
+        // (n を int とするのは, r = -0 に対して t = -0 とするため)
+        int n = (int) Math.rint(2d * r);
+        double t = r - 0.5 * n;
+        double s = sinpiPolynomial(t);
+        double c = cospiPolynomial(t);
+
+        // 象限 q: (sin, cos) = (s, c), (c, -s), (-s, -c), (-c, s)
+        int q = n & 3;
+        double sinAbs = (q & 1) == 0 ? s : c;
+        double cosAbs = (q & 1) == 0 ? c : s;
+        sinOut[sinIndex] = (q & 2) == 0 ? sinAbs : -sinAbs;
+        cosOut[cosIndex] = ((q + 1) & 2) == 0 ? cosAbs : -cosAbs;
+    }
+
+    /**
+     * sin(pi * t) の minimax 多項式 (|t| &lt;= 1/4).
+     * t = ±0 の場合は符号付きゼロを返す.
+     */
+    private static double sinpiPolynomial(double t) {
+        if (t == 0d) {
+            // 補正項 (t * u) * p は t = -0 に対して +0 となるため
+            return t;
+        }
+        double u = t * t;
+        double p = SINPI_S1 + u * (SINPI_S2 + u * (SINPI_S3
+                + u * (SINPI_S4 + u * (SINPI_S5 + u * SINPI_S6))));
+
+        // 主要項 S0 * t は結果より上の2進桁に属しうるため, 丸めると 1 ulp 程度の誤差となる.
+        // t を上位 26 ビットの th と残りの tl に分割 (Dekker) し,
+        // 正確な積 S0_HI * th に残りの項を最後に加える.
+        double c = t * 134217729d;
+        double th = c - (c - t);
+        double tl = t - th;
+        return SINPI_S0_HI * th + (SINPI_S0_HI * tl + SINPI_S0_LO * t + (t * u) * p);
+    }
+
+    /**
+     * cos(pi * t) の minimax 多項式 (|t| &lt;= 1/4).
+     */
+    private static double cospiPolynomial(double t) {
+        double u = t * t;
+        double p = COSPI_C1 + u * (COSPI_C2 + u * (COSPI_C3
+                + u * (COSPI_C4 + u * (COSPI_C5 + u * (COSPI_C6 + u * COSPI_C7)))));
+        return 1d + u * p;
+    }
+
+    /**
+     * 0 方向への丸め.
+     * 
+     * <p>
+     * 剰余演算子 (%) は低速であるため, バッチ計算では
+     * x % m = copySign(x - m * truncate(x / m), x) (m = 1, 2) を用いる.
+     * m が2の累乗であるため, x / m, m * truncate(x / m), 差はいずれも正確に計算され,
+     * 結果は % と一致する (copySign は符号付きゼロを合わせるため).
+     * |x| &gt;= 2^52 の値は整数である.
+     * </p>
+     */
+    private static double truncate(double x) {
+        return Math.abs(x) < 0x1p52 ? (double) (long) x : x;
+    }
+
+    private static void checkSameLength(double[] x, String xName, double[] y, String yName) {
+        if (x.length != y.length) {
+            throw new IllegalArgumentException(
+                    "length mismatch: " + xName + ".length = " + x.length
+                            + ", " + yName + ".length = " + y.length);
+        }
+    }
+
+    private static void checkRange(int arrayLength, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > arrayLength - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + arrayLength);
+        }
+    }
 }
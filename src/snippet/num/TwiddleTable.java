@@ -0,0 +1,179 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+/**
+ * 回転因子の表:
+ * cos(2 pi k / N), sin(2 pi k / N) (k = 0, ..., N - 1).
+ *
+ * <p>
+ * 表は {@link Trigonometry#cospi(double)}, {@link Trigonometry#sinpi(double)} により計算する.
+ * N が 8 の倍数の場合は 0 &lt;= k &lt;= N/8 のみを計算し,
+ * 残りは八分円, 四分円, 半円の対称性により値を複写する.
+ * N が 4 の倍数の場合は 0 &lt;= k &lt;= N/4, それ以外の場合は 0 &lt;= k &lt;= N/2 を計算する.
+ * したがって, 表は対称性を正確に満たし,
+ * k = 0, N/4, N/2, 3N/4 (整数の場合) では正確な値 (0, ±1) となる.
+ * </p>
+ *
+ * <p>
+ * インスタンスは {@link #of(int)} により取得する.
+ * 構築した表は, 個数とバイト数 (表1個あたり 16N バイト) に上限のあるキャッシュ
+ * (最も長く参照されていない表から破棄する) により共有される.
+ * 単独でバイト数の上限を超える大きさの表はキャッシュせず, 呼び出しごとに構築する.
+ * インスタンスは不変であり, スレッドセーフである.
+ * </p>
+ */
+public final class TwiddleTable {
+
+    /**
+     * キャッシュに保持する表の個数の上限.
+     */
+    private static final int CACHE_CAPACITY = 32;
+
+    /**
+     * キャッシュに保持する表のバイト数の合計の上限 (64 MiB, N = 2^22 の表1個分).
+     */
+    private static final long CACHE_BYTES = 64L << 20;
+
+    private static final LruCache<Integer, TwiddleTable> CACHE =
+            new LruCache<>(CACHE_CAPACITY, CACHE_BYTES, TwiddleTable::bytes);
+
+    private final int size;
+
+    /**
+     * cos[k] = cos(2 pi k / N).
+     */
+    final double[] cos;
+
+    /**
+     * sin[k] = sin(2 pi k / N).
+     */
+    final double[] sin;
+
+    private TwiddleTable(int size) {
+        this.size = size;
+        this.cos = new double[size];
+        this.sin = new double[size];
+        fill(size, cos, sin);
+    }
+
+    /**
+     * 大きさ N の回転因子の表を返す.
+     *
+     * <p>
+     * キャッシュに存在する場合はそれを返し, 存在しない場合は構築してキャッシュに追加する.
+     * 16N バイトがキャッシュのバイト数の上限を超える場合は, キャッシュに追加しない.
+     * 構築はロックの外で行うため, 複数のスレッドが同時に同じ N の表を構築することがある.
+     * その場合も, 返される表の値は等しい.
+     * </p>
+     *
+     * @param n 表の大きさ N
+     * @return 回転因子の表
+     * @throws IllegalArgumentException n が 1 未満の場合
+     */
+    public static TwiddleTable of(int n) {
+        if (n < 1) {
+            throw new IllegalArgumentException("n < 1: n = " + n);
+        }
+        Integer key = Integer.valueOf(n);
+        TwiddleTable cached = CACHE.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        return CACHE.addIfAbsent(key, new TwiddleTable(n));
+    }
+
+    /**
+     * 表の大きさ N を返す.
+     *
+     * @return N
+     */
+    public int size() {
+        return size;
+    }
+
+    /**
+     * cos(2 pi k / N) を返す.
+     *
+     * @param k インデックス (0 &lt;= k &lt; N)
+     * @return cos(2 pi k / N)
+     * @throws IndexOutOfBoundsException k が範囲外の場合
+     */
+    public double cos(int k) {
+        return cos[k];
+    }
+
+    /**
+     * sin(2 pi k / N) を返す.
+     *
+     * @param k インデックス (0 &lt;= k &lt; N)
+     * @return sin(2 pi k / N)
+     * @throws IndexOutOfBoundsException k が範囲外の場合
+     */
+    public double sin(int k) {
+        return sin[k];
+    }
+
+    /**
+     * 表の値を配列に複写する.
+     *
+     * @param cosDest cos(2 pi k / N) の格納先 (長さ N 以上)
+     * @param sinDest sin(2 pi k / N) の格納先 (長さ N 以上)
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 配列の長さが N 未満の場合
+     */
+    public void copyTo(double[] cosDest, double[] sinDest) {
+        System.arraycopy(cos, 0, cosDest, 0, size);
+        System.arraycopy(sin, 0, sinDest, 0, size);
+    }
+
+    /**
+     * 表が保持する配列のバイト数 (cos, sin の 2N 個の double).
+     */
+    private long bytes() {
+        return 16L * size;
+    }
+
+    /**
+     * 表を計算する.
+     */
+    private static void fill(int n, double[] cos, double[] sin) {
+        // 直接計算する範囲 [0, direct]
+        int direct = n % 8 == 0
+                ? n / 8
+                : n % 4 == 0 ? n / 4 : n / 2;
+        for (int k = 0; k <= direct; k++) {
+            // 0 は +0 にそろえる (cospi(1/2) は -0 となる)
+            double x = 2d * k / n;
+            cos[k] = Trigonometry.cospi(x) + 0d;
+            sin[k] = Trigonometry.sinpi(x) + 0d;
+        }
+
+        if (n % 8 == 0) {
+            // 八分円: theta = pi/2 - theta'
+            for (int k = n / 8 + 1; k <= n / 4; k++) {
+                cos[k] = sin[n / 4 - k];
+                sin[k] = cos[n / 4 - k];
+            }
+        }
+        if (n % 4 == 0) {
+            // 四分円: theta = pi - theta'
+            for (int k = n / 4 + 1; k <= n / 2; k++) {
+                cos[k] = -cos[n / 2 - k];
+                sin[k] = sin[n / 2 - k];
+            }
+        }
+
+        // 半円: theta = 2 pi - theta'
+        for (int k = n / 2 + 1; k < n; k++) {
+            cos[k] = cos[n - k];
+            sin[k] = -sin[n - k];
+        }
+    }
+}
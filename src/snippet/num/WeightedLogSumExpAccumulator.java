@@ -0,0 +1,204 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+/*
+ * 2026.10.17
+ */
+package snippet.num;
+
+/**
+ * 重み付きの log-summation-exp:
+ * log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+ * と, 和の符号を逐次的に計算するアキュムレータ.
+ *
+ * <p>
+ * 内部状態は {@link LogSumExpAccumulator} と同様の (exponent, coeff) の組であり,
+ * w_1 e^{x_1} + w_2 e^{x_2} + ... = coeff * e^{exponent} を表す.
+ * coeff は符号付きであり, 和の符号は coeff の符号である.
+ * 重みを ±1 とすれば, 符号付きの和 log_e |s_1 e^{x_1} + s_2 e^{x_2} + ... | となる.
+ * </p>
+ *
+ * <p>
+ * 重みが 0 の項, x_i = -inf の項は (他方が NaN であっても) 無視される.
+ * x_i = +inf の項がある場合, coeff は x_i = +inf である項の重みの和となり,
+ * それが 0 でなければ結果は +inf, 0 ならば NaN である.
+ * NaN (x_i または w_i) を含む場合は NaN となる.
+ * 値が追加されていない場合, および和が 0 となる場合の結果は -inf, 符号は 0.
+ * </p>
+ *
+ * <p>
+ * 重みの絶対値が極端に大きい場合の coeff のオーバーフローは考慮していない.
+ * </p>
+ *
+ * <p>
+ * このクラスはスレッドセーフではない.
+ * </p>
+ *
+ * @see Exponentiation#logSumExpWeighted(double[], double[])
+ */
+public final class WeightedLogSumExpAccumulator {
+
+    /**
+     * 最大の指数. NaN にはならない (NaN の状態は coeff で表す).
+     */
+    private double exponent = Double.NEGATIVE_INFINITY;
+    private double coeff = 0d;
+
+    /**
+     * 空の状態 (結果が -inf) のアキュムレータを構築する.
+     */
+    public WeightedLogSumExpAccumulator() {
+        super();
+    }
+
+    /**
+     * 空の状態に戻す.
+     */
+    public void reset() {
+        exponent = Double.NEGATIVE_INFINITY;
+        coeff = 0d;
+    }
+
+    /**
+     * 項 w e^x を1個追加する.
+     *
+     * @param x 指数
+     * @param w 重み
+     */
+    public void add(double x, double w) {
+        if (w == 0d || x == Double.NEGATIVE_INFINITY) {
+            return;
+        }
+        if (x == Double.POSITIVE_INFINITY) {
+            addPositiveInfinity(w);
+            return;
+        }
+
+        if (x > exponent) {
+            coeff = coeff * Math.exp(exponent - x) + w;
+            exponent = x;
+        } else {
+            // x が NaN の場合もここで NaN となる
+            coeff += w * Math.exp(x - exponent);
+        }
+    }
+
+    /**
+     * 配列の範囲の項
+     * w[wOffset + k] e^{x[xOffset + k]} (k = 0, ..., length - 1)
+     * を順に追加する.
+     *
+     * <p>
+     * 1パスで計算する.
+     * 最大の指数が更新された場合にのみ coeff を再スケーリングする.
+     * </p>
+     *
+     * @param x 指数の配列
+     * @param xOffset x の先頭要素のインデックス
+     * @param w 重みの配列
+     * @param wOffset w の先頭要素のインデックス
+     * @param length 要素数
+     * @throws NullPointerException null
+     * @throws IndexOutOfBoundsException 範囲が配列外の場合
+     */
+    public void addAll(double[] x, int xOffset, double[] w, int wOffset, int length) {
+        checkRange(x, xOffset, length);
+        checkRange(w, wOffset, length);
+
+        // フィールドへの書き込みを避け, ローカル変数で計算する
+        double e = exponent;
+        double c = coeff;
+        for (int k = 0; k < length; k++) {
+            double v = x[xOffset + k];
+            double wk = w[wOffset + k];
+            if (wk == 0d || v == Double.NEGATIVE_INFINITY) {
+                continue;
+            }
+            if (v > e) {
+                if (v == Double.POSITIVE_INFINITY) {
+                    // NaN 状態は維持する
+                    c = Double.isNaN(c) ? c : wk;
+                } else {
+                    c = c * Math.exp(e - v) + wk;
+                }
+                e = v;
+            } else if (v == Double.POSITIVE_INFINITY) {
+                // e も +inf
+                c += wk;
+            } else {
+                c += wk * Math.exp(v - e);
+            }
+        }
+        exponent = e;
+        coeff = c;
+    }
+
+    /**
+     * other の状態を合成する.
+     * other は変更されない.
+     *
+     * @param other 合成するアキュムレータ
+     * @throws NullPointerException null
+     */
+    public void merge(WeightedLogSumExpAccumulator other) {
+        // 指数が等しい場合 (+inf 同士, -inf 同士を含む) は係数を単純に加える.
+        // exp(inf - inf) = NaN を避けるため, 差をとる前に分岐する.
+        double otherExponent = other.exponent;
+        double otherCoeff = other.coeff;
+        if (otherExponent > exponent) {
+            coeff = otherExponent == Double.POSITIVE_INFINITY
+                    ? (Double.isNaN(coeff) ? coeff : otherCoeff)
+                    : coeff * Math.exp(exponent - otherExponent) + otherCoeff;
+            exponent = otherExponent;
+        } else if (otherExponent == exponent) {
+            coeff += otherCoeff;
+        } else if (exponent != Double.POSITIVE_INFINITY) {
+            coeff += otherCoeff * Math.exp(otherExponent - exponent);
+        } else if (Double.isNaN(otherCoeff)) {
+            // 自身が +inf の状態でも NaN は伝播させる
+            coeff = Double.NaN;
+        }
+    }
+
+    /**
+     * 和の絶対値の自然対数を返す.
+     *
+     * @return log_e |w_1 e^{x_1} + w_2 e^{x_2} + ... |
+     */
+    public double logAbs() {
+        // coeff = 0 の場合, exponent が +inf でなければ -inf となる
+        return exponent + Math.log(Math.abs(coeff));
+    }
+
+    /**
+     * 和の符号を返す.
+     *
+     * @return 和が正ならば 1, 負ならば -1, 0 ならば 0, NaN ならば NaN
+     */
+    public double signum() {
+        return Math.signum(coeff);
+    }
+
+    /**
+     * x = +inf の項を追加する.
+     */
+    private void addPositiveInfinity(double w) {
+        if (exponent == Double.POSITIVE_INFINITY) {
+            coeff += w;
+        } else {
+            // NaN 状態は維持する
+            coeff = Double.isNaN(coeff) ? coeff : w;
+            exponent = Double.POSITIVE_INFINITY;
+        }
+    }
+
+    private static void checkRange(double[] x, int offset, int length) {
+        if (offset < 0 || length < 0 || offset > x.length - length) {
+            throw new IndexOutOfBoundsException(
+                    "out of range: offset = " + offset + ", length = " + length
+                            + ", array length = " + x.length);
+        }
+    }
+}
@@ -0,0 +1,256 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static snippet.num.ArrayMat.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ArrayMat} test.
+ */
+@RunWith(Enclosed.class)
+final class ArrayMatTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class norms_shape_and_scale_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 3, 7, 300 };
+
+        @DataPoints
+        public static double[] scales = {
+                Double.MIN_NORMAL,
+                1d,
+                Double.MAX_VALUE / 1024
+        };
+
+        @Theory
+        public void test_row_norms(int rows, int cols, double scale) {
+            double[] a = randomArray(rows * cols, scale);
+            double[] out = new double[rows];
+
+            rowNormMax(a, rows, cols, out);
+            for (int i = 0; i < rows; i++) {
+                assertThat(out[i], is(ArrayVec.normMax(a, i * cols, cols, 1)));
+            }
+            rowNorm1(a, rows, cols, out);
+            for (int i = 0; i < rows; i++) {
+                compareAndAssert(ArrayVec.norm1(a, i * cols, cols, 1), out[i]);
+            }
+            rowNorm2(a, rows, cols, out);
+            for (int i = 0; i < rows; i++) {
+                compareAndAssert(ArrayVec.norm2(a, i * cols, cols, 1), out[i]);
+            }
+        }
+
+        @Theory
+        public void test_column_norms(int rows, int cols, double scale) {
+            double[] a = randomArray(rows * cols, scale);
+            double[] out = new double[cols];
+
+            if (rows == 0) {
+                columnNorm2(a, rows, cols, out);
+                for (int j = 0; j < cols; j++) {
+                    assertThat(out[j], is(0d));
+                }
+                return;
+            }
+
+            columnNormMax(a, rows, cols, out);
+            for (int j = 0; j < cols; j++) {
+                assertThat(out[j], is(ArrayVec.normMax(a, j, rows, cols)));
+            }
+            columnNorm1(a, rows, cols, out);
+            for (int j = 0; j < cols; j++) {
+                compareAndAssert(ArrayVec.norm1(a, j, rows, cols), out[j]);
+            }
+            columnNorm2(a, rows, cols, out);
+            for (int j = 0; j < cols; j++) {
+                compareAndAssert(ArrayVec.norm2(a, j, rows, cols), out[j]);
+            }
+        }
+    }
+
+    public static class columnNorm2_special {
+
+        @Test
+        public void test_mixed_columns() {
+            int rows = 4;
+            int cols = 300;
+            double[] a = randomArray(rows * cols, 1d);
+            // 列ごとに異なる経路を通す
+            a[1] = 1E300;
+            a[cols + 2] = 1E-300;
+            a[3] = Double.NaN;
+            a[2 * cols + 3] = Double.POSITIVE_INFINITY;
+            a[4] = Double.NEGATIVE_INFINITY;
+            a[cols + 4] = Double.NaN;
+            for (int i = 0; i < rows; i++) {
+                a[i * cols + 5] = 0d;
+            }
+
+            double[] out = new double[cols];
+            columnNorm2(a, rows, cols, out);
+            for (int j = 0; j < cols; j++) {
+                compareAndAssert(ArrayVec.norm2(a, j, rows, cols), out[j]);
+            }
+            assertThat(out[3], is(Double.NaN));
+            assertThat(out[4], is(Double.POSITIVE_INFINITY));
+            assertThat(out[5], is(0d));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_short_matrix() {
+            columnNorm2(new double[5], 2, 3, new double[3]);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_short_out() {
+            rowNorm2(new double[6], 2, 3, new double[1]);
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class logSumExp_shape_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 3, 7, 300 };
+
+        @Theory
+        public void test_row_and_column(int rows, int cols) {
+            double[] a = randomArray(rows * cols, 50d);
+
+            double[] out = new double[rows];
+            rowLogSumExp(a, rows, cols, out);
+            for (int i = 0; i < rows; i++) {
+                double[] row = Arrays.copyOfRange(a, i * cols, (i + 1) * cols);
+                compareLogSumExp(Exponentiation.logSumExp(row), out[i]);
+            }
+
+            out = new double[cols];
+            columnLogSumExp(a, rows, cols, out);
+            for (int j = 0; j < cols; j++) {
+                double[] column = new double[rows];
+                for (int i = 0; i < rows; i++) {
+                    column[i] = a[i * cols + j];
+                }
+                compareLogSumExp(Exponentiation.logSumExp(column), out[j]);
+            }
+        }
+
+        @Theory
+        public void test_product(int rows, int cols) {
+            double[] a = randomArray(rows * cols, 50d);
+            double[] x = randomArray(cols, 50d);
+
+            double[] y = new double[rows];
+            logSumExpProduct(a, rows, cols, x, y);
+            double[] terms = new double[cols];
+            for (int i = 0; i < rows; i++) {
+                for (int j = 0; j < cols; j++) {
+                    terms[j] = a[i * cols + j] + x[j];
+                }
+                compareLogSumExp(Exponentiation.logSumExp(terms), y[i]);
+            }
+
+            double[] yParallel = new double[rows];
+            logSumExpProductParallel(a, rows, cols, x, yParallel);
+            assertThat(yParallel, is(y));
+        }
+    }
+
+    public static class logSumExp_special {
+
+        private static final double INF = Double.POSITIVE_INFINITY;
+        private static final double NaN = Double.NaN;
+
+        @Test
+        public void test_special_values() {
+            double[] a = {
+                    1d, INF, -INF,
+                    NaN, 2d, -INF,
+                    -INF, 3d, -INF };
+            double[] out = new double[3];
+
+            rowLogSumExp(a, 3, 3, out);
+            assertThat(out, is(new double[] {
+                    INF, NaN, 3d }));
+
+            columnLogSumExp(a, 3, 3, out);
+            assertThat(out[0], is(NaN));
+            assertThat(out[1], is(INF));
+            assertThat(out[2], is(-INF));
+
+            double[] y = new double[3];
+            logSumExpProduct(a, 3, 3, new double[] { 0d, -INF, 0d }, y);
+            // 1行目: +inf + (-inf) = NaN
+            assertThat(y, is(new double[] { NaN, NaN, -INF }));
+        }
+
+        @Test
+        public void test_product_parallel_large() {
+            int rows = 1000;
+            int cols = 600;
+            double[] a = randomArray(rows * cols, 50d);
+            double[] x = randomArray(cols, 50d);
+            a[5 * cols + 7] = NaN;
+            a[17 * cols + 400] = INF;
+
+            double[] y = new double[rows];
+            double[] yParallel = new double[rows];
+            logSumExpProduct(a, rows, cols, x, y);
+            logSumExpProductParallel(a, rows, cols, x, yParallel);
+            assertThat(yParallel, is(y));
+            assertThat(y[5], is(NaN));
+            assertThat(y[17], is(INF));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_short_vector() {
+            logSumExpProduct(new double[6], 2, 3, new double[2], new double[2]);
+        }
+    }
+
+    private static void compareLogSumExp(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, (Math.abs(expected) + 1d) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+
+    private static double[] randomArray(int size, double scale) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+
+    /**
+     * assertion based on relative error.
+     */
+    private static void compareAndAssert(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, Math.abs(expected) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+}
@@ -9,8 +9,11 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 import static snippet.num.ArrayVec.*;
 
+import java.math.BigDecimal;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
@@ -41,7 +44,7 @@ final class ArrayVecTest {
             };
 
             @DataPoints
-            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 31, 100 };
 
             @Theory
             public void test_parametric(int size, double scale) {
@@ -84,7 +87,7 @@ final class ArrayVecTest {
             };
 
             @DataPoints
-            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 31, 100 };
 
             @Theory
             public void test_parametric(int size, double scale) {
@@ -127,7 +130,7 @@ final class ArrayVecTest {
             };
 
             @DataPoints
-            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10 };
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9, 10, 31, 100 };
 
             @Theory
             public void test_parametric(int size, double scale) {
@@ -144,6 +147,28 @@ final class ArrayVecTest {
             }
         }
 
+        @RunWith(Theories.class)
+        public static class norm2_special_values {
+
+            @DataPoints
+            public static int[] positions = { 0, 1, 2, 3, 4, 5, 6, 7, 8, 9 };
+
+            @Theory
+            public void test_first_non_finite_is_returned(int position) {
+                double[] arr = new double[10];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = ThreadLocalRandom.current().nextDouble() * 2d - 1d;
+                }
+                arr[position] = Double.NaN;
+                arr[(position + 1) % arr.length] = Double.NEGATIVE_INFINITY;
+
+                double expected = position == arr.length - 1
+                        ? Double.POSITIVE_INFINITY
+                        : Double.NaN;
+                assertThat(norm2(arr), is(expected));
+            }
+        }
+
         private static double norm2Ref(double scale, double... x) {
             double sum = 0d;
             for (double v : x) {
@@ -154,6 +179,386 @@ final class ArrayVecTest {
         }
     }
 
+    @RunWith(Enclosed.class)
+    public static class norm2Parallel_test {
+
+        @RunWith(Theories.class)
+        public static class norm2Parallel_size_and_scale_variation {
+
+            @DataPoints
+            public static double[] scales = {
+                    Double.MIN_NORMAL,
+                    1d,
+                    Double.MAX_VALUE / 1024
+            };
+
+            @DataPoints
+            public static int[] sizes = { 0, 10, 100_000, 1_000_003 };
+
+            @Theory
+            public void test_parametric(int size, double scale) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+                // 後半ほど大きくし, 区間ごとに scale が異なるようにする
+                for (int i = size / 2; i < size; i++) {
+                    arr[i] *= 1024;
+                }
+
+                compareAndAssert(norm2(arr), norm2Parallel(arr));
+
+                ForkJoinPool pool = new ForkJoinPool(3);
+                try {
+                    compareAndAssert(norm2(arr), norm2Parallel(arr, pool));
+                } finally {
+                    pool.shutdown();
+                }
+            }
+        }
+
+        public static class norm2Parallel_special_values {
+
+            @Test
+            public void test_first_non_finite_is_returned() {
+                double[] arr = new double[1_000_000];
+                arr[10] = Double.POSITIVE_INFINITY;
+                arr[900_000] = Double.NaN;
+                assertThat(norm2Parallel(arr), is(Double.POSITIVE_INFINITY));
+
+                arr[10] = Double.NaN;
+                arr[900_000] = Double.NEGATIVE_INFINITY;
+                assertThat(norm2Parallel(arr), is(Double.NaN));
+            }
+        }
+    }
+
+    public static class norm2_fixed_arity_test {
+
+        private static final double[] specials = {
+                0d, -0d, 1d, -2.5, 1E-310, 1E300, -1E-200, Double.MAX_VALUE, Double.MIN_VALUE,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+
+        @Test
+        public void test_equals_varargs() {
+            for (double a : specials) {
+                for (double b : specials) {
+                    assertSameAsVarargs(norm2(new double[] { a, b }), norm2(a, b));
+                    for (double c : specials) {
+                        assertSameAsVarargs(norm2(new double[] { a, b, c }), norm2(a, b, c));
+                    }
+                }
+            }
+        }
+
+        @Test
+        public void test_random() {
+            for (int c = 0; c < 1000; c++) {
+                double scale = Math.pow(10, 600 * (ThreadLocalRandom.current().nextDouble() - 0.5));
+                double a = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                double b = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                double d = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                assertSameAsVarargs(norm2(new double[] { a, b }), norm2(a, b));
+                assertSameAsVarargs(norm2(new double[] { a, b, d }), norm2(a, b, d));
+            }
+        }
+
+        /**
+         * 高速経路の範囲では一致, それ以外では丸め誤差の範囲で一致.
+         */
+        private static void assertSameAsVarargs(double expected, double result) {
+            if (expected >= 0x1p-460 && expected < 0x1p480 || !Double.isFinite(expected)) {
+                assertThat(result, is(expected));
+            } else {
+                assertThat(result, is(closeTo(expected, expected * 1E-15)));
+            }
+        }
+    }
+
+    @RunWith(Enclosed.class)
+    public static class sum_and_dot_test {
+
+        private static final double EPS = Math.ulp(1d) / 2;
+
+        @RunWith(Theories.class)
+        public static class sum_and_dot_size_variation {
+
+            @DataPoints
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 10, 101, 1000 };
+
+            @Theory
+            public void test_well_conditioned(int size) {
+                double[] x = randomArray(size, 1d);
+                double[] y = randomArray(size, 1d);
+
+                assertWithin(exactSum(x), sum(x), 1E-12 * norm1(x));
+                assertWithin(exactSum(x), sumCompensated(x), 1E-15 * norm1(x));
+                assertWithin(exactDot(x, y), dot(x, y), 1E-12 * absDot(x, y));
+                assertWithin(exactDot(x, y), dotCompensated(x, y), 1E-15 * absDot(x, y));
+            }
+
+            @Theory
+            public void test_ill_conditioned_sum(int size) {
+                // 大きな値とその符号反転をシャッフルし, 小さな値を加える
+                double[] x = new double[2 * size + 1];
+                for (int i = 0; i < size; i++) {
+                    double v = (ThreadLocalRandom.current().nextDouble() * 2d - 1d)
+                            * Math.scalb(1d, ThreadLocalRandom.current().nextInt(60));
+                    x[2 * i] = v;
+                    x[2 * i + 1] = -v * (1d + EPS * 2);
+                }
+                x[2 * size] = ThreadLocalRandom.current().nextDouble();
+                shuffle(x);
+
+                BigDecimal exact = exactSumBig(x);
+                double bound = EPS * Math.abs(exact.doubleValue())
+                        + 4 * square(x.length * EPS) * norm1(x);
+                assertWithin(exact.doubleValue(), sumCompensated(x), bound);
+            }
+
+            @Theory
+            public void test_ill_conditioned_dot(int size) {
+                double[] x = new double[2 * size];
+                double[] y = new double[2 * size];
+                for (int i = 0; i < size; i++) {
+                    double a = (ThreadLocalRandom.current().nextDouble() * 2d - 1d)
+                            * Math.scalb(1d, ThreadLocalRandom.current().nextInt(30));
+                    double b = (ThreadLocalRandom.current().nextDouble() * 2d - 1d)
+                            * Math.scalb(1d, ThreadLocalRandom.current().nextInt(30));
+                    x[2 * i] = a;
+                    y[2 * i] = b;
+                    x[2 * i + 1] = a;
+                    y[2 * i + 1] = -b + ThreadLocalRandom.current().nextDouble() * 1E-10;
+                }
+
+                double exact = exactDot(x, y);
+                double bound = EPS * Math.abs(exact)
+                        + 4 * square(x.length * EPS) * absDot(x, y);
+                assertWithin(exact, dotCompensated(x, y), bound);
+            }
+
+            @Theory
+            public void test_axpy(int size) {
+                double a = ThreadLocalRandom.current().nextDouble();
+                double[] x = randomArray(size, 1d);
+                double[] y = randomArray(size, 1d);
+
+                double[] expected = new double[size];
+                for (int i = 0; i < size; i++) {
+                    expected[i] = y[i] + a * x[i];
+                }
+                axpy(a, x, y);
+                assertThat(y, is(expected));
+            }
+        }
+
+        public static class sum_and_dot_special {
+
+            @Test
+            public void test_cancellation() {
+                assertThat(sum(1E16, 1d, -1E16), is(0d));
+                assertThat(sumCompensated(1E16, 1d, -1E16), is(1d));
+                assertThat(dotCompensated(
+                        new double[] { 1E8, 1d, 1E8 },
+                        new double[] { 1E8 + 1, 1d, -1E8 }), is(1E8 + 1));
+            }
+
+            @Test
+            public void test_non_finite() {
+                assertThat(sumCompensated(1d, Double.POSITIVE_INFINITY), is(Double.POSITIVE_INFINITY));
+                assertThat(sumCompensated(Double.MAX_VALUE, Double.MAX_VALUE),
+                        is(Double.POSITIVE_INFINITY));
+                assertThat(sumCompensated(1d, Double.NaN), is(Double.NaN));
+                assertThat(dotCompensated(new double[] { 1E300 }, new double[] { 2d }), is(2E300));
+            }
+
+            @Test(expected = IllegalArgumentException.class)
+            public void test_length_mismatch() {
+                dot(new double[2], new double[3]);
+            }
+        }
+
+        private static BigDecimal exactSumBig(double[] x) {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (double v : x) {
+                sum = sum.add(new BigDecimal(v));
+            }
+            return sum;
+        }
+
+        private static double exactSum(double[] x) {
+            return exactSumBig(x).doubleValue();
+        }
+
+        private static double exactDot(double[] x, double[] y) {
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int i = 0; i < x.length; i++) {
+                sum = sum.add(new BigDecimal(x[i]).multiply(new BigDecimal(y[i])));
+            }
+            return sum.doubleValue();
+        }
+
+        private static double absDot(double[] x, double[] y) {
+            double sum = 0d;
+            for (int i = 0; i < x.length; i++) {
+                sum += Math.abs(x[i] * y[i]);
+            }
+            return sum;
+        }
+
+        private static double square(double v) {
+            return v * v;
+        }
+
+        private static void shuffle(double[] x) {
+            for (int i = x.length - 1; i > 0; i--) {
+                int j = ThreadLocalRandom.current().nextInt(i + 1);
+                double tmp = x[i];
+                x[i] = x[j];
+                x[j] = tmp;
+            }
+        }
+
+        private static void assertWithin(double expected, double result, double tolerance) {
+            assertThat(result, is(closeTo(expected, tolerance + Math.ulp(expected))));
+        }
+
+        private static double[] randomArray(int size, double scale) {
+            double[] arr = new double[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+            }
+            return arr;
+        }
+    }
+
+    @RunWith(Enclosed.class)
+    public static class float_test {
+
+        @RunWith(Theories.class)
+        public static class float_size_and_scale_variation {
+
+            @DataPoints
+            public static float[] scales = {
+                    Float.MIN_VALUE * 1024,
+                    Float.MIN_NORMAL,
+                    1f,
+                    Float.MAX_VALUE / 1024
+            };
+
+            @DataPoints
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 10, 100 };
+
+            @Theory
+            public void test_parametric(int size, float scale) {
+                float[] arr = new float[size];
+                double[] widened = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = scale * (float) (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                    widened[i] = arr[i];
+                }
+
+                // double で計算した結果を float に丸めたものと一致する (1 ulp 以内)
+                assertThat(normMax(arr), is((float) normMax(widened)));
+                assertFloat((float) norm1(widened), norm1(arr));
+                assertFloat((float) norm2(widened), norm2(arr));
+                assertFloat((float) norm2(widened), norm2(arr, 0, size, 1));
+            }
+
+            private static void assertFloat(float expected, float result) {
+                if (Float.isFinite(expected)) {
+                    assertThat((double) result, is(closeTo(expected, Math.ulp(expected))));
+                } else {
+                    assertThat(result, is(expected));
+                }
+            }
+        }
+
+        public static class float_special_values {
+
+            @Test
+            public void test_first_non_finite_is_returned() {
+                float[] arr = { 1f, Float.NEGATIVE_INFINITY, Float.NaN };
+                assertThat(norm2(arr), is(Float.POSITIVE_INFINITY));
+
+                float[] arr2 = { 1f, Float.NaN, Float.POSITIVE_INFINITY };
+                assertThat(norm2(arr2), is(Float.NaN));
+            }
+
+            @Test
+            public void test_no_overflow_of_squares() {
+                float[] arr = { Float.MAX_VALUE / 2, Float.MAX_VALUE / 2 };
+                assertThat(norm2(arr), is((float) (Math.sqrt(2d) * (Float.MAX_VALUE / 2))));
+            }
+        }
+    }
+
+    @RunWith(Enclosed.class)
+    public static class subVector_test {
+
+        @RunWith(Theories.class)
+        public static class subVector_offset_and_stride_variation {
+
+            @DataPoints
+            public static int[] values = { 0, 1, 2, 3, 5, 10 };
+
+            @Theory
+            public void test_parametric(int offset, int length, int strideMinusOne) {
+                int stride = strideMinusOne + 1;
+                double[] arr = new double[offset + length * stride];
+                for (int i = 0; i < arr.length; i++) {
+                    arr[i] = 1E100 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+
+                double[] gathered = new double[length];
+                for (int i = 0; i < length; i++) {
+                    gathered[i] = arr[offset + i * stride];
+                }
+
+                assertThat(normMax(arr, offset, length, stride), is(normMax(gathered)));
+                compareAndAssert(norm1(gathered), norm1(arr, offset, length, stride));
+                compareAndAssert(norm2(gathered), norm2(arr, offset, length, stride));
+            }
+        }
+
+        public static class subVector_range_check {
+
+            private final double[] arr = new double[10];
+
+            @Test
+            public void test_valid_boundary() {
+                assertThat(norm2(arr, 10, 0, 1), is(0d));
+                assertThat(norm2(arr, 9, 1, 100), is(0d));
+                assertThat(norm2(arr, 1, 3, 4), is(0d));
+            }
+
+            @Test(expected = IndexOutOfBoundsException.class)
+            public void test_negative_offset() {
+                norm1(arr, -1, 1, 1);
+            }
+
+            @Test(expected = IndexOutOfBoundsException.class)
+            public void test_last_index_out_of_range() {
+                norm2(arr, 1, 4, 3);
+            }
+
+            @Test(expected = IndexOutOfBoundsException.class)
+            public void test_large_stride_overflow() {
+                normMax(arr, 0, 3, Integer.MAX_VALUE);
+            }
+
+            @Test(expected = IllegalArgumentException.class)
+            public void test_negative_length() {
+                norm2(arr, 0, -1, 1);
+            }
+
+            @Test(expected = IllegalArgumentException.class)
+            public void test_non_positive_stride() {
+                normMax(arr, 0, 1, 0);
+            }
+        }
+    }
+
     /**
      * assertion based on relative error.
      */
@@ -0,0 +1,142 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static snippet.num.BufferVec.*;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.DoubleBuffer;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link BufferVec} test.
+ */
+@RunWith(Enclosed.class)
+final class BufferVecTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class buffer_size_and_scale_variation {
+
+        @DataPoints
+        public static double[] scales = {
+                Double.MIN_NORMAL,
+                1d,
+                Double.MAX_VALUE / 1024
+        };
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 5, 4096, 10_001 };
+
+        @Theory
+        public void test_heap_buffer(int size, double scale) {
+            double[] arr = randomArray(size, scale);
+
+            // position, arrayOffset が 0 でないバッファ
+            DoubleBuffer wrapped = DoubleBuffer.allocate(size + 5);
+            wrapped.position(2);
+            DoubleBuffer heap = wrapped.slice();
+            heap.position(1);
+            heap.put(arr);
+            heap.flip();
+            heap.position(1);
+
+            assertAll(arr, heap);
+        }
+
+        @Theory
+        public void test_direct_buffer(int size, double scale) {
+            double[] arr = randomArray(size, scale);
+
+            DoubleBuffer direct = ByteBuffer.allocateDirect(size * Double.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN)
+                    .asDoubleBuffer();
+            direct.put(arr);
+            direct.flip();
+
+            assertAll(arr, direct);
+            assertAll(arr, direct.asReadOnlyBuffer());
+        }
+
+        @Theory
+        public void test_file(int size, double scale) throws IOException {
+            double[] arr = randomArray(size, scale);
+
+            ByteBuffer bytes = ByteBuffer.allocate(size * Double.BYTES)
+                    .order(ByteOrder.LITTLE_ENDIAN);
+            bytes.asDoubleBuffer().put(arr);
+            Path file = Files.createTempFile("BufferVecTest", ".bin");
+            try {
+                Files.write(file, bytes.array());
+
+                assertThat(normMax(file), is(ArrayVec.normMax(arr)));
+                compareAndAssert(ArrayVec.norm1(arr), norm1(file));
+                compareAndAssert(ArrayVec.norm2(arr), norm2(file));
+            } finally {
+                Files.delete(file);
+            }
+        }
+
+        private static void assertAll(double[] expected, DoubleBuffer buffer) {
+            int position = buffer.position();
+            int limit = buffer.limit();
+
+            assertThat(normMax(buffer), is(ArrayVec.normMax(expected)));
+            compareAndAssert(ArrayVec.norm1(expected), norm1(buffer));
+            compareAndAssert(ArrayVec.norm2(expected), norm2(buffer));
+
+            assertThat(buffer.position(), is(position));
+            assertThat(buffer.limit(), is(limit));
+        }
+    }
+
+    public static class file_format {
+
+        @Test(expected = IOException.class)
+        public void test_size_not_multiple_of_8() throws IOException {
+            Path file = Files.createTempFile("BufferVecTest", ".bin");
+            try {
+                Files.write(file, new byte[12]);
+                norm2(file);
+            } finally {
+                Files.delete(file);
+            }
+        }
+    }
+
+    private static double[] randomArray(int size, double scale) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+
+    /**
+     * assertion based on relative error.
+     */
+    private static void compareAndAssert(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, Math.abs(expected) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+}
@@ -0,0 +1,158 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+import static snippet.num.DistanceMatrix.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link DistanceMatrix} test.
+ */
+@RunWith(Enclosed.class)
+final class DistanceMatrixTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class distance_shape_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 5, 70 };
+
+        @Theory
+        public void test_exact(int n, int dim) {
+            double[] points = randomArray(n * dim, 1d);
+            double[] expected = naiveFull(points, n, dim);
+
+            double[] full = new double[n * n];
+            full(points, n, dim, Method.EXACT, full);
+            for (int k = 0; k < full.length; k++) {
+                assertThat(full[k], is(closeTo(expected[k], expected[k] * relativeError)));
+            }
+            assertCondensedMatches(points, n, dim, Method.EXACT, full);
+        }
+
+        @Theory
+        public void test_fast(int n, int dim) {
+            double[] points = randomArray(n * dim, 1d);
+            double[] expected = naiveFull(points, n, dim);
+
+            double[] full = new double[n * n];
+            full(points, n, dim, Method.FAST, full);
+            // 絶対誤差は座標の大きさ * sqrt(dim * eps) 程度
+            double tolerance = Math.sqrt(dim * 1E-15) * Math.sqrt(dim) * 4 + 1E-300;
+            for (int i = 0; i < n; i++) {
+                assertThat(full[i * n + i], is(0d));
+            }
+            for (int k = 0; k < full.length; k++) {
+                assertThat(full[k], is(closeTo(expected[k], tolerance)));
+            }
+            assertCondensedMatches(points, n, dim, Method.FAST, full);
+        }
+    }
+
+    public static class distance_parallel {
+
+        @Test
+        public void test_parallel_equals_sequential() {
+            int n = 700;
+            int dim = 5;
+            double[] points = randomArray(n * dim, 1d);
+            for (Method method : Method.values()) {
+                double[] sequential = new double[n * n];
+                double[] parallel = new double[n * n];
+                full(points, n, dim, method, sequential);
+                fullParallel(points, n, dim, method, parallel);
+                assertThat(parallel, is(sequential));
+
+                double[] condensedSequential = new double[n * (n - 1) / 2];
+                double[] condensedParallel = new double[n * (n - 1) / 2];
+                condensed(points, n, dim, method, condensedSequential);
+                condensedParallel(points, n, dim, method, condensedParallel);
+                assertThat(condensedParallel, is(condensedSequential));
+            }
+        }
+    }
+
+    public static class distance_special {
+
+        @Test
+        public void test_exact_extreme_scale() {
+            double[] points = { 3E200, 4E200, 0d, 0d, 3E-300, 4E-300 };
+            double[] out = new double[9];
+            full(points, 3, 2, Method.EXACT, out);
+            assertThat(out[1], is(closeTo(5E200, 5E200 * relativeError)));
+            assertThat(out[5], is(closeTo(5E-300, 5E-300 * relativeError)));
+        }
+
+        @Test
+        public void test_exact_non_finite() {
+            double[] points = { 0d, 0d, Double.NaN, Double.POSITIVE_INFINITY };
+            double[] out = new double[1];
+            condensed(points, 2, 2, Method.EXACT, out);
+            assertThat(out[0], is(Double.NaN));
+
+            points = new double[] { 0d, 0d, Double.NEGATIVE_INFINITY, Double.NaN };
+            condensed(points, 2, 2, Method.EXACT, out);
+            assertThat(out[0], is(Double.POSITIVE_INFINITY));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_short_points() {
+            full(new double[5], 3, 2, Method.EXACT, new double[9]);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_short_out() {
+            condensed(new double[6], 3, 2, Method.EXACT, new double[2]);
+        }
+    }
+
+    private static void assertCondensedMatches(double[] points, int n, int dim, Method method, double[] full) {
+        double[] condensed = new double[n * (n - 1) / 2];
+        condensed(points, n, dim, method, condensed);
+        int index = 0;
+        for (int i = 0; i < n; i++) {
+            for (int j = i + 1; j < n; j++) {
+                assertThat(condensed[index], is(full[i * n + j]));
+                assertThat(full[j * n + i], is(full[i * n + j]));
+                index++;
+            }
+        }
+    }
+
+    private static double[] naiveFull(double[] points, int n, int dim) {
+        double[] out = new double[n * n];
+        double[] diff = new double[dim];
+        for (int i = 0; i < n; i++) {
+            for (int j = 0; j < n; j++) {
+                for (int k = 0; k < dim; k++) {
+                    diff[k] = points[i * dim + k] - points[j * dim + k];
+                }
+                out[i * n + j] = ArrayVec.norm2(diff);
+            }
+        }
+        return out;
+    }
+
+    private static double[] randomArray(int size, double scale) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+}
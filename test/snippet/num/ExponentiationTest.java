@@ -14,9 +14,11 @@ import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ThreadLocalRandom;
 
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
@@ -267,6 +269,545 @@ final class ExponentiationTest {
         }
     }
 
+    @RunWith(Theories.class)
+    public static class logSumExpParallel_test {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 5, 1 << 15, (1 << 17) + 3 };
+
+        @Theory
+        public void test_size_parametric(int size) {
+            double[] arr = new double[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+            }
+            compareAndAssert(logSumExp(arr), logSumExpParallel(arr));
+        }
+
+        @Theory
+        public void test_special(int size) {
+            if (size == 0) {
+                return;
+            }
+            double[] specials = {
+                    Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+            for (double special : specials) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+                arr[ThreadLocalRandom.current().nextInt(size)] = special;
+                compareAndAssert(logSumExp(arr), logSumExpParallel(arr));
+            }
+
+            double[] arr = new double[size];
+            Arrays.fill(arr, Double.NEGATIVE_INFINITY);
+            assertThat(logSumExpParallel(arr), is(Double.NEGATIVE_INFINITY));
+            arr[0] = Double.POSITIVE_INFINITY;
+            arr[size - 1] = Double.NaN;
+            assertThat(logSumExpParallel(arr), is(Double.NaN));
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class logSumExpPruned_test {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 5, 100, 10000 };
+
+        @Theory
+        public void test_flat_and_peaked(int size) {
+            for (double scale : new double[] { 1d, 30d, 500d }) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+                compareAndAssert(logSumExp(arr), logSumExpPruned(arr));
+            }
+
+            // 1個の突出した要素と, 閾値付近の多数の要素
+            double[] arr = new double[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = -37d - 10d * ThreadLocalRandom.current().nextDouble();
+            }
+            if (size > 0) {
+                arr[size / 2] = 3d;
+            }
+            compareAndAssert(logSumExp(arr), logSumExpPruned(arr));
+        }
+
+        @Theory
+        public void test_special(int size) {
+            if (size == 0) {
+                assertThat(logSumExpPruned(), is(Double.NEGATIVE_INFINITY));
+                return;
+            }
+            double[] specials = {
+                    Double.NaN, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY };
+            for (double special : specials) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+                arr[ThreadLocalRandom.current().nextInt(size)] = special;
+                compareAndAssert(logSumExp(arr), logSumExpPruned(arr));
+            }
+
+            double[] arr = new double[size];
+            Arrays.fill(arr, Double.NEGATIVE_INFINITY);
+            assertThat(logSumExpPruned(arr), is(Double.NEGATIVE_INFINITY));
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class logSumExpWeighted_test {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 5, 1 << 15, (1 << 17) + 3 };
+
+        @Theory
+        public void test_sequential_and_parallel(int size) {
+            double[] x = new double[size];
+            double[] w = new double[size];
+            double[] shifted = new double[size];
+            for (int i = 0; i < size; i++) {
+                x[i] = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                w[i] = ThreadLocalRandom.current().nextDouble() + 0.5;
+                shifted[i] = x[i] + Math.log(w[i]);
+            }
+            double expected = logSumExp(shifted);
+            compareAndAssert(expected, logSumExpWeighted(x, w));
+            compareAndAssert(expected, logSumExpWeightedParallel(x, w));
+
+            // 符号付き: 負の重みの項は正の重みの項に比べて十分小さい
+            for (int i = 0; i < size; i += 3) {
+                w[i] = -w[i];
+                x[i] -= 5d;
+            }
+            double sequential = logSumExpWeighted(x, w);
+            compareAndAssert(sequential, logSumExpWeightedParallel(x, w));
+
+            // 符号を反転させ, 並列計算の符号を逐次計算と比較する
+            for (int i = 0; i < size; i++) {
+                w[i] = -w[i];
+            }
+            WeightedLogSumExpAccumulator expectedAcc = new WeightedLogSumExpAccumulator();
+            expectedAcc.addAll(x, 0, w, 0, size);
+            WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+            accumulateWeightedParallel(x, w, acc);
+            compareAndAssert(sequential, acc.logAbs());
+            assertThat(acc.signum(), is(expectedAcc.signum()));
+        }
+
+        @Test
+        public void test_accumulate_keeps_existing_terms() {
+            int size = (1 << 17) + 3;
+            double[] x = new double[size];
+            double[] w = new double[size];
+            Arrays.fill(w, 1d);
+
+            // e^{log(2 size)} - size e^0 = size
+            WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+            acc.add(Math.log(2d * size), -1d);
+            accumulateWeightedParallel(x, w, acc, ForkJoinPool.commonPool());
+            compareAndAssert(Math.log(size), acc.logAbs());
+            assertThat(acc.signum(), is(-1d));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            logSumExpWeightedParallel(new double[2], new double[3]);
+        }
+    }
+
+    public static class logSumExp_fixed_arity_test {
+
+        private static final double[] specials = {
+                0d, -1d, 700d, -745d, 1E300, -1E300,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+
+        @Test
+        public void test_equals_varargs() {
+            for (double a : specials) {
+                for (double b : specials) {
+                    compareLogSumExp(logSumExp(new double[] { a, b }), logSumExp(a, b));
+                    for (double c : specials) {
+                        compareLogSumExp(logSumExp(new double[] { a, b, c }), logSumExp(a, b, c));
+                    }
+                }
+            }
+            for (int c = 0; c < 1000; c++) {
+                double a = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                double b = a + 40 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                double d = a + 40 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                compareLogSumExp(logSumExp(new double[] { a, b }), logSumExp(a, b));
+                compareLogSumExp(logSumExp(new double[] { a, b, d }), logSumExp(a, b, d));
+            }
+        }
+
+        @Test
+        public void test_small_second_term() {
+            // max = 0 の場合, 小さい項は 1 との和で失われず, 相対精度を保つ
+            double e40 = Math.exp(-40d);
+            assertThat(logSumExp(0d, -40d), is(closeTo(e40, e40 * 1E-15)));
+            assertThat(logSumExp(-40d, 0d), is(closeTo(e40, e40 * 1E-15)));
+            double e3 = Math.exp(-40d) + Math.exp(-41d);
+            assertThat(logSumExp(0d, -40d, -41d), is(closeTo(e3, e3 * 1E-15)));
+            assertThat(logSumExp(-41d, -40d, 0d), is(closeTo(e3, e3 * 1E-15)));
+            assertThat(logSumExp(-40d, 0d, -41d), is(closeTo(e3, e3 * 1E-15)));
+            assertThat(logSumExp(0d, -745d), is(Double.MIN_VALUE));
+            assertThat(logSumExp(0d, -800d), is(0d));
+        }
+
+        @Test
+        public void test_logSubExp() {
+            for (int c = 0; c < 1000; c++) {
+                double a = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                double b = a - 50 * ThreadLocalRandom.current().nextDouble();
+                double result = logSubExp(a, b);
+                // log(e^a - e^b) + log(1 + e^{b - (log(e^a - e^b))}) = a
+                compareLogSumExp(a, logSumExp(result, b));
+
+                // 近接した値でも相対精度を保つ: log(e^a - e^b) = a + log(1 - e^{b - a})
+                // |a| <= 500 に対して差は ulp(a) より十分大きく, near != a
+                double near = a - (1E-11 + 1E-10 * ThreadLocalRandom.current().nextDouble());
+                double expected = a + Math.log(-Math.expm1(near - a));
+                assertThat(logSubExp(a, near), is(closeTo(expected, Math.abs(expected) * 1E-14)));
+            }
+        }
+
+        @Test
+        public void test_logSubExp_special() {
+            double inf = Double.POSITIVE_INFINITY;
+            assertThat(logSubExp(1d, 1d), is(-inf));
+            assertThat(logSubExp(1d, -inf), is(1d));
+            assertThat(logSubExp(-inf, -inf), is(-inf));
+            assertThat(logSubExp(inf, 1d), is(inf));
+            assertThat(logSubExp(inf, -inf), is(inf));
+            assertThat(logSubExp(inf, inf), is(Double.NaN));
+            assertThat(logSubExp(1d, 2d), is(Double.NaN));
+            assertThat(logSubExp(Double.NaN, 1d), is(Double.NaN));
+            assertThat(logSubExp(Double.NaN, -inf), is(Double.NaN));
+            assertThat(logSubExp(1d, Double.NaN), is(Double.NaN));
+        }
+
+        private static void compareLogSumExp(double expected, double result) {
+            if (Double.isFinite(expected)) {
+                assertThat(result, is(closeTo(expected, (Math.abs(expected) + 1d) * 1E-15)));
+            } else {
+                assertThat(result, is(expected));
+            }
+        }
+    }
+
+    @RunWith(Enclosed.class)
+    public static class softmax_test {
+
+        @RunWith(Theories.class)
+        public static class softmax_size_variation {
+
+            @DataPoints
+            public static int[] sizes = { 0, 1, 2, 3, 4, 5, 10, 101 };
+
+            @Theory
+            public void test_softmax(int size) {
+                double[] arr = randomArray(size, 500d);
+                double lse = logSumExp(arr);
+
+                double[] out = new double[size];
+                softmax(arr, out);
+                for (int i = 0; i < size; i++) {
+                    double expected = Math.exp(arr[i] - lse);
+                    assertThat(out[i], is(closeTo(expected, expected * 1E-10 + 1E-300)));
+                }
+
+                double[] inPlace = arr.clone();
+                softmaxInPlace(inPlace);
+                assertThat(inPlace, is(out));
+
+                double[] padded = new double[size + 5];
+                System.arraycopy(arr, 0, padded, 2, size);
+                double[] paddedOut = new double[size + 3];
+                softmax(padded, 2, paddedOut, 1, size);
+                assertThat(Arrays.copyOfRange(paddedOut, 1, size + 1), is(out));
+                softmaxInPlace(padded, 2, size);
+                assertThat(Arrays.copyOfRange(padded, 2, size + 2), is(out));
+            }
+
+            @Theory
+            public void test_logSoftmax(int size) {
+                double[] arr = randomArray(size, 500d);
+                double lse = logSumExp(arr);
+
+                double[] out = new double[size];
+                logSoftmax(arr, out);
+                for (int i = 0; i < size; i++) {
+                    double expected = arr[i] - lse;
+                    assertThat(out[i], is(closeTo(expected, (Math.abs(arr[i]) + Math.abs(lse)) * relativeError)));
+                }
+
+                double[] inPlace = arr.clone();
+                logSoftmaxInPlace(inPlace);
+                assertThat(inPlace, is(out));
+
+                double[] padded = new double[size + 5];
+                System.arraycopy(arr, 0, padded, 2, size);
+                double[] paddedOut = new double[size + 3];
+                logSoftmax(padded, 2, paddedOut, 1, size);
+                assertThat(Arrays.copyOfRange(paddedOut, 1, size + 1), is(out));
+                logSoftmaxInPlace(padded, 2, size);
+                assertThat(Arrays.copyOfRange(padded, 2, size + 2), is(out));
+            }
+        }
+
+        public static class softmax_special {
+
+            private static final double INF = Double.POSITIVE_INFINITY;
+            private static final double NaN = Double.NaN;
+
+            @Test
+            public void test_softmax_special() {
+                assertSoftmax(new double[] { 1d, -INF, 1d }, new double[] { 0.5, 0d, 0.5 });
+                assertSoftmax(new double[] { INF, 1d, INF, -INF }, new double[] { 0.5, 0d, 0.5, 0d });
+                assertSoftmax(new double[] { INF, NaN }, new double[] { NaN, NaN });
+                assertSoftmax(new double[] { -INF, -INF }, new double[] { NaN, NaN });
+            }
+
+            @Test
+            public void test_logSoftmax_special() {
+                double log2 = Math.log(2d);
+                assertLogSoftmax(new double[] { 1d, -INF, 1d }, new double[] { -log2, -INF, -log2 });
+                assertLogSoftmax(new double[] { INF, 1d, INF, -INF }, new double[] { -log2, -INF, -log2, -INF });
+                assertLogSoftmax(new double[] { 1d, NaN }, new double[] { NaN, NaN });
+                assertLogSoftmax(new double[] { -INF }, new double[] { NaN });
+            }
+
+            @Test
+            public void test_overflow() {
+                double[] out = new double[2];
+                softmax(new double[] { 1000d, 1000d }, out);
+                assertThat(out, is(new double[] { 0.5, 0.5 }));
+                logSoftmax(new double[] { -1000d, -1000d }, out);
+                assertThat(out[0], is(closeTo(-Math.log(2d), 1E-15)));
+            }
+
+            @Test(expected = IllegalArgumentException.class)
+            public void test_length_mismatch() {
+                softmax(new double[2], new double[3]);
+            }
+
+            @Test(expected = IndexOutOfBoundsException.class)
+            public void test_out_of_range() {
+                logSoftmaxInPlace(new double[3], 2, 2);
+            }
+
+            private static void assertSoftmax(double[] in, double[] expected) {
+                double[] out = new double[in.length];
+                softmax(in, out);
+                assertThat(out, is(expected));
+            }
+
+            private static void assertLogSoftmax(double[] in, double[] expected) {
+                double[] out = new double[in.length];
+                logSoftmax(in, out);
+                assertThat(out, is(expected));
+            }
+        }
+
+        private static double[] randomArray(int size, double scale) {
+            double[] arr = new double[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+            }
+            return arr;
+        }
+    }
+
+    public static class fast_approximation_test {
+
+        private static final double INF = Double.POSITIVE_INFINITY;
+        private static final double NaN = Double.NaN;
+
+        /**
+         * 近似の誤差の許容値 (ドキュメントに記載の上限).
+         */
+        private static final double fastRelativeError = 1E-14;
+
+        @Test
+        public void test_fastExp_error_sweep() {
+            for (int i = 0; i <= 200_000; i++) {
+                double x = -708d + 1417d * i / 200_000;
+                double expected = Math.exp(x);
+                assertThat(fastExp(x), is(closeTo(expected, expected * fastRelativeError)));
+            }
+            for (int i = 0; i < 100_000; i++) {
+                double x = (ThreadLocalRandom.current().nextDouble() * 2d - 1d) * 0x1p-20;
+                double expected = Math.exp(x);
+                assertThat(fastExp(x), is(closeTo(expected, expected * fastRelativeError)));
+            }
+            assertThat(fastExp(0d), is(1d));
+        }
+
+        @Test
+        public void test_fastExp_special() {
+            double[] xs = { -708.5, -745d, -746d, 709.7, 710d, INF, -INF, NaN };
+            for (double x : xs) {
+                assertThat(fastExp(x), is(Math.exp(x)));
+            }
+        }
+
+        @Test
+        public void test_fastLogSumExp() {
+            for (int size : new int[] { 1, 2, 3, 4, 5, 10, 1000 }) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = 800d * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+                }
+                double expected = logSumExp(arr);
+                assertThat(fastLogSumExp(arr),
+                        is(closeTo(expected, (Math.abs(expected) + 1d) * fastRelativeError)));
+            }
+            assertThat(fastLogSumExp(), is(-INF));
+            assertThat(fastLogSumExp(1d, INF, -INF), is(INF));
+            assertThat(fastLogSumExp(1d, INF, NaN), is(NaN));
+            assertThat(fastLogSumExp(-INF, -INF), is(-INF));
+            assertThat(fastLogSumExp(0d, -1000d), is(0d));
+        }
+
+        @Test
+        public void test_fastSoftmax() {
+            double[] arr = new double[101];
+            for (int i = 0; i < arr.length; i++) {
+                arr[i] = 50d * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+            }
+            double[] expected = new double[arr.length];
+            softmax(arr, expected);
+            double[] expectedLog = new double[arr.length];
+            logSoftmax(arr, expectedLog);
+
+            double[] out = new double[arr.length];
+            fastSoftmax(arr, out);
+            for (int i = 0; i < arr.length; i++) {
+                assertThat(out[i], is(closeTo(expected[i], expected[i] * fastRelativeError)));
+            }
+            fastLogSoftmax(arr, out);
+            for (int i = 0; i < arr.length; i++) {
+                assertThat(out[i],
+                        is(closeTo(expectedLog[i], (Math.abs(expectedLog[i]) + 1d) * fastRelativeError)));
+            }
+
+            // in-place
+            double[] inPlace = arr.clone();
+            fastLogSoftmax(inPlace, inPlace);
+            assertThat(inPlace, is(out));
+        }
+
+        @Test
+        public void test_fastSoftmax_offset_and_in_place() {
+            int size = 37;
+            double[] arr = new double[size];
+            for (int i = 0; i < size; i++) {
+                arr[i] = 50d * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+            }
+            double[] padded = new double[size + 3];
+            System.arraycopy(arr, 0, padded, 2, size);
+
+            double[] expected = new double[size];
+            fastSoftmax(arr, expected);
+            double[] paddedOut = new double[size + 1];
+            fastSoftmax(padded, 2, paddedOut, 1, size);
+            assertThat(Arrays.copyOfRange(paddedOut, 1, size + 1), is(expected));
+            double[] inPlace = arr.clone();
+            fastSoftmaxInPlace(inPlace);
+            assertThat(inPlace, is(expected));
+            double[] paddedInPlace = padded.clone();
+            fastSoftmaxInPlace(paddedInPlace, 2, size);
+            assertThat(Arrays.copyOfRange(paddedInPlace, 2, size + 2), is(expected));
+
+            fastLogSoftmax(arr, expected);
+            fastLogSoftmax(padded, 2, paddedOut, 1, size);
+            assertThat(Arrays.copyOfRange(paddedOut, 1, size + 1), is(expected));
+            inPlace = arr.clone();
+            fastLogSoftmaxInPlace(inPlace);
+            assertThat(inPlace, is(expected));
+            paddedInPlace = padded.clone();
+            fastLogSoftmaxInPlace(paddedInPlace, 2, size);
+            assertThat(Arrays.copyOfRange(paddedInPlace, 2, size + 2), is(expected));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_out_of_range() {
+            fastLogSoftmaxInPlace(new double[3], 2, 2);
+        }
+
+        @Test
+        public void test_fastSoftmax_special() {
+            double[][] ins = {
+                    { 1d, -INF, 1d }, { INF, 1d, INF, -INF }, { INF, NaN }, { -INF, -INF }, {} };
+            for (double[] in : ins) {
+                double[] expected = new double[in.length];
+                double[] out = new double[in.length];
+                softmax(in, expected);
+                fastSoftmax(in, out);
+                assertThat(out, is(expected));
+                logSoftmax(in, expected);
+                fastLogSoftmax(in, out);
+                assertThat(out, is(expected));
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            fastSoftmax(new double[2], new double[3]);
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class logSumExp_float_test {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 3, 10, 100 };
+
+        @Theory
+        public void test_size_parametric(int size) {
+            final int iteration = 20;
+            for (int c = 0; c < iteration; c++) {
+                float[] arr = new float[size];
+                double[] widened = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = (float) (50 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d));
+                    widened[i] = arr[i];
+                }
+
+                float expected = (float) logSumExp(widened);
+                if (Float.isFinite(expected)) {
+                    assertThat((double) logSumExp(arr),
+                            is(closeTo(expected, 2 * Math.ulp(expected))));
+                } else {
+                    assertThat(logSumExp(arr), is(expected));
+                }
+            }
+        }
+
+        @Theory
+        public void test_special(int size) {
+            float[][] data_special = {
+                    { Float.POSITIVE_INFINITY, 1f, Float.NEGATIVE_INFINITY },
+                    { Float.NEGATIVE_INFINITY, Float.NEGATIVE_INFINITY },
+                    { Float.NaN, Float.POSITIVE_INFINITY },
+                    { Float.POSITIVE_INFINITY, Float.NaN },
+                    { 1f, Float.NaN, Float.NEGATIVE_INFINITY },
+            };
+            for (float[] arr : data_special) {
+                double[] widened = new double[arr.length];
+                for (int i = 0; i < arr.length; i++) {
+                    widened[i] = arr[i];
+                }
+                assertThat(logSumExp(arr), is((float) logSumExp(widened)));
+            }
+        }
+    }
+
     @RunWith(Enclosed.class)
     public static class logMultiplyAbs_test {
         @RunWith(Theories.class)
@@ -378,6 +919,60 @@ final class ExponentiationTest {
                 compareAndAssert(Math.pow(x, n), pow(x, n));
             }
         }
+
+        @RunWith(Theories.class)
+        public static class pow_array_test {
+
+            @DataPoints
+            public static int[] exponents = {
+                    0, 1, 2, 3, 7, 64, 1023, -1, -2, -5, -1024,
+                    Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1 };
+
+            private static double[] values() {
+                double[] specials = {
+                        0d, -0d, 1d, -1d, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY,
+                        Double.NaN, Double.MIN_VALUE, Double.MAX_VALUE, 1d + Math.ulp(1d), -1d - Math.ulp(1d) };
+                double[] values = Arrays.copyOf(specials, 700);
+                for (int i = specials.length; i < values.length; i++) {
+                    values[i] = (ThreadLocalRandom.current().nextDouble() * 4d - 2d);
+                }
+                return values;
+            }
+
+            @Theory
+            public void test_shared_exponent(int n) {
+                double[] x = values();
+                double[] out = new double[x.length];
+                pow(x, n, out);
+                for (int i = 0; i < x.length; i++) {
+                    assertThat(out[i], is(pow(x[i], n)));
+                }
+
+                double[] inPlace = x.clone();
+                pow(inPlace, n, inPlace);
+                assertThat(inPlace, is(out));
+            }
+
+            @Theory
+            public void test_elementwise_exponent(int n) {
+                double[] x = values();
+                int[] ns = new int[x.length];
+                for (int i = 0; i < ns.length; i++) {
+                    ns[i] = i % 3 == 0
+                            ? n
+                            : exponents[ThreadLocalRandom.current().nextInt(exponents.length)];
+                }
+                double[] out = new double[x.length];
+                pow(x, ns, out);
+                for (int i = 0; i < x.length; i++) {
+                    assertThat(out[i], is(pow(x[i], ns[i])));
+                }
+
+                double[] inPlace = x.clone();
+                pow(inPlace, ns, inPlace);
+                assertThat(inPlace, is(out));
+            }
+        }
     }
 
     /**
@@ -0,0 +1,211 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link FourierTransform} test.
+ */
+@RunWith(Enclosed.class)
+final class FourierTransformTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class size_variation {
+
+        @DataPoints
+        public static int[] sizes = { 1, 2, 3, 4, 5, 6, 7, 8, 12, 16, 31, 64, 100, 127, 256, 1000 };
+
+        @Theory
+        public void test_forward_compare_to_dft(int n) {
+            double[] xr = randomArray(n);
+            double[] xi = randomArray(n);
+            double[] expectedRe = new double[n];
+            double[] expectedIm = new double[n];
+            naiveDft(xr, xi, expectedRe, expectedIm);
+
+            double[] re = xr.clone();
+            double[] im = xi.clone();
+            FourierTransform.of(n).forward(re, im);
+            assertClose(expectedRe, re, n);
+            assertClose(expectedIm, im, n);
+        }
+
+        @Theory
+        public void test_inverse_round_trip(int n) {
+            double[] xr = randomArray(n);
+            double[] xi = randomArray(n);
+
+            double[] re = xr.clone();
+            double[] im = xi.clone();
+            FourierTransform plan = FourierTransform.of(n);
+            plan.forward(re, im);
+            plan.inverse(re, im);
+            assertClose(xr, re, 1);
+            assertClose(xi, im, 1);
+        }
+
+        @Theory
+        public void test_real(int n) {
+            double[] x = randomArray(n);
+            double[] re = x.clone();
+            double[] im = new double[n];
+            FourierTransform plan = FourierTransform.of(n);
+            plan.forward(re, im);
+
+            int h = n / 2;
+            double[] halfRe = new double[h + 1];
+            double[] halfIm = new double[h + 1];
+            plan.forwardReal(x, halfRe, halfIm);
+            for (int k = 0; k <= h; k++) {
+                assertThat(halfRe[k], is(closeTo(re[k], n * relativeError)));
+                assertThat(halfIm[k], is(closeTo(im[k], n * relativeError)));
+            }
+
+            double[] restored = new double[n];
+            plan.inverseReal(halfRe, halfIm, restored);
+            assertClose(x, restored, 1);
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class parallel {
+
+        @DataPoints
+        public static int[] sizes = { 8, 1 << 15, 1 << 17, 100_003 };
+
+        @Theory
+        public void test_equals_sequential(int n) {
+            double[] xr = randomArray(n);
+            double[] xi = randomArray(n);
+            FourierTransform plan = FourierTransform.of(n);
+
+            double[] re = xr.clone();
+            double[] im = xi.clone();
+            plan.forward(re, im);
+            double[] parallelRe = xr.clone();
+            double[] parallelIm = xi.clone();
+            plan.forwardParallel(parallelRe, parallelIm);
+            assertThat(parallelRe, is(re));
+            assertThat(parallelIm, is(im));
+
+            plan.inverse(re, im);
+            plan.inverseParallel(parallelRe, parallelIm);
+            assertThat(parallelRe, is(re));
+            assertThat(parallelIm, is(im));
+            assertClose(xr, re, 1);
+        }
+    }
+
+    public static class special {
+
+        @Test
+        public void test_impulse_and_constant() {
+            // 単位インパルスの変換は定数 1
+            for (int n : new int[] { 8, 12 }) {
+                double[] re = new double[n];
+                double[] im = new double[n];
+                re[0] = 1d;
+                FourierTransform.of(n).forward(re, im);
+                for (int k = 0; k < n; k++) {
+                    assertThat(re[k], is(closeTo(1d, 1E-15)));
+                    assertThat(im[k], is(closeTo(0d, 1E-15)));
+                }
+            }
+
+            // 2の累乗の場合, 定数列の変換は正確
+            double[] re = new double[16];
+            double[] im = new double[16];
+            java.util.Arrays.fill(re, 1d);
+            FourierTransform.of(16).forward(re, im);
+            assertThat(re[0], is(16d));
+            for (int k = 1; k < 16; k++) {
+                assertThat(re[k] + 0d, is(0d));
+                assertThat(im[k] + 0d, is(0d));
+            }
+        }
+
+        @Test
+        public void test_shared_plan() {
+            assertThat(FourierTransform.of(96), is(sameInstance(FourierTransform.of(96))));
+            assertThat(FourierTransform.of(96).size(), is(96));
+        }
+
+        @Test
+        public void test_large_plan_is_not_cached() {
+            // N = 2^20 + 1 の Bluestein の計画 (M = 2^22) は 144 MiB であり, キャッシュの上限を超える
+            int n = (1 << 20) + 1;
+            FourierTransform first = FourierTransform.of(n);
+            FourierTransform second = FourierTransform.of(n);
+            assertThat(second, is(not(sameInstance(first))));
+            assertThat(second.size(), is(n));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_illegal_size() {
+            FourierTransform.of(0);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            FourierTransform.of(8).forward(new double[8], new double[7]);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_real_length_mismatch() {
+            FourierTransform.of(8).forwardReal(new double[8], new double[4], new double[5]);
+        }
+    }
+
+    /**
+     * 定義どおりの DFT. 回転因子の指数 jk は N で割った剰余により正確に求める.
+     */
+    private static void naiveDft(double[] xr, double[] xi, double[] re, double[] im) {
+        int n = xr.length;
+        for (int k = 0; k < n; k++) {
+            double sumRe = 0d;
+            double sumIm = 0d;
+            for (int j = 0; j < n; j++) {
+                double x = 2d * (((long) j * k) % n) / n;
+                double c = Trigonometry.cospi(x);
+                double s = -Trigonometry.sinpi(x);
+                sumRe += xr[j] * c - xi[j] * s;
+                sumIm += xr[j] * s + xi[j] * c;
+            }
+            re[k] = sumRe;
+            im[k] = sumIm;
+        }
+    }
+
+    /**
+     * 要素の大きさが 1 程度, 和の項数が scale 程度の場合の比較.
+     */
+    private static void assertClose(double[] expected, double[] result, int scale) {
+        for (int i = 0; i < expected.length; i++) {
+            assertThat(result[i], is(closeTo(expected[i], Math.max(scale, 16) * relativeError)));
+        }
+    }
+
+    private static double[] randomArray(int size) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = ThreadLocalRandom.current().nextDouble() * 2d - 1d;
+        }
+        return arr;
+    }
+}
@@ -0,0 +1,141 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link LogSumExpAccumulator} test.
+ */
+@RunWith(Enclosed.class)
+final class LogSumExpAccumulatorTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class accumulate_size_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 5, 10, 100, 10_000 };
+
+        @Theory
+        public void test_add(int size) {
+            double[] arr = randomArray(size);
+
+            LogSumExpAccumulator acc = new LogSumExpAccumulator();
+            for (double v : arr) {
+                acc.add(v);
+            }
+            compareAndAssert(Exponentiation.logSumExp(arr), acc.result());
+        }
+
+        @Theory
+        public void test_addAll_and_merge(int size) {
+            double[] arr = randomArray(size);
+            int split = size == 0 ? 0 : ThreadLocalRandom.current().nextInt(size);
+
+            LogSumExpAccumulator left = new LogSumExpAccumulator();
+            left.addAll(arr, 0, split);
+            LogSumExpAccumulator right = new LogSumExpAccumulator();
+            right.addAll(arr, split, size - split);
+            left.merge(right);
+            compareAndAssert(Exponentiation.logSumExp(arr), left.result());
+        }
+
+        @Theory
+        public void test_stream(int size) {
+            double[] arr = randomArray(size);
+
+            compareAndAssert(Exponentiation.logSumExp(arr),
+                    LogSumExpAccumulator.collect(Arrays.stream(arr).parallel()));
+            compareAndAssert(Exponentiation.logSumExp(arr),
+                    Arrays.stream(arr).boxed().parallel().collect(LogSumExpAccumulator.collector()));
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class special_values {
+
+        @DataPoints
+        public static double[][] data_special = {
+                {},
+                { Double.NEGATIVE_INFINITY, Double.NEGATIVE_INFINITY },
+                { Double.POSITIVE_INFINITY, Double.POSITIVE_INFINITY, 1d },
+                { Double.NEGATIVE_INFINITY, Double.POSITIVE_INFINITY, 1d },
+                { Double.NaN, Double.NEGATIVE_INFINITY },
+                { Double.NaN, Double.POSITIVE_INFINITY },
+                { 1d, 2d, Double.NaN }
+        };
+
+        @Theory
+        public void test_merge_for_all_splits(double[] arr) {
+            double expected = Exponentiation.logSumExp(arr);
+            for (int split = 0; split <= arr.length; split++) {
+                LogSumExpAccumulator left = new LogSumExpAccumulator();
+                left.addAll(arr, 0, split);
+                LogSumExpAccumulator right = new LogSumExpAccumulator();
+                right.addAll(arr, split, arr.length - split);
+
+                LogSumExpAccumulator leftFirst = new LogSumExpAccumulator();
+                leftFirst.merge(left);
+                leftFirst.merge(right);
+                compareAndAssert(expected, leftFirst.result());
+
+                right.merge(left);
+                compareAndAssert(expected, right.result());
+            }
+        }
+    }
+
+    public static class misc {
+
+        @Test
+        public void test_reset() {
+            LogSumExpAccumulator acc = new LogSumExpAccumulator();
+            acc.add(Double.NaN);
+            acc.reset();
+            assertThat(acc.result(), is(Double.NEGATIVE_INFINITY));
+            acc.add(0d);
+            acc.add(0d);
+            compareAndAssert(Math.log(2d), acc.result());
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_addAll_out_of_range() {
+            new LogSumExpAccumulator().addAll(new double[10], -1, 2);
+        }
+    }
+
+    private static double[] randomArray(int size) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = 500 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+
+    /**
+     * assertion based on relative error.
+     */
+    private static void compareAndAssert(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, Math.abs(expected) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+}
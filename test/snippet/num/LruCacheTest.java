@@ -0,0 +1,79 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link LruCache} test.
+ */
+@RunWith(Enclosed.class)
+final class LruCacheTest {
+
+    public static class limits {
+
+        @Test
+        public void test_entry_limit() {
+            LruCache<Integer, double[]> cache = new LruCache<>(2, 1000L, v -> 8L * v.length);
+            double[] a = new double[1];
+            double[] b = new double[1];
+            assertThat(cache.addIfAbsent(1, a), is(sameInstance(a)));
+            assertThat(cache.addIfAbsent(2, b), is(sameInstance(b)));
+            // 1 を参照し, 2 を最も古い値にする
+            assertThat(cache.get(1), is(sameInstance(a)));
+            cache.addIfAbsent(3, new double[1]);
+            assertThat(cache.size(), is(2));
+            assertThat(cache.get(1), is(sameInstance(a)));
+            assertThat(cache.get(2), is(nullValue()));
+        }
+
+        @Test
+        public void test_byte_limit() {
+            LruCache<Integer, double[]> cache = new LruCache<>(100, 100L, v -> 8L * v.length);
+            cache.addIfAbsent(1, new double[5]);
+            cache.addIfAbsent(2, new double[5]);
+            assertThat(cache.totalBytes(), is(80L));
+
+            // 追加した値が残るまで古い値を破棄する
+            double[] c = new double[12];
+            cache.addIfAbsent(3, c);
+            assertThat(cache.size(), is(1));
+            assertThat(cache.totalBytes(), is(96L));
+            assertThat(cache.get(3), is(sameInstance(c)));
+        }
+
+        @Test
+        public void test_too_large_value_is_not_cached() {
+            LruCache<Integer, double[]> cache = new LruCache<>(100, 100L, v -> 8L * v.length);
+            double[] small = new double[2];
+            cache.addIfAbsent(1, small);
+            double[] large = new double[13];
+            assertThat(cache.addIfAbsent(2, large), is(sameInstance(large)));
+            assertThat(cache.get(2), is(nullValue()));
+            assertThat(cache.get(1), is(sameInstance(small)));
+            assertThat(cache.totalBytes(), is(16L));
+        }
+
+        @Test
+        public void test_existing_value_wins() {
+            LruCache<Integer, double[]> cache = new LruCache<>(100, 100L, v -> 8L * v.length);
+            double[] first = new double[1];
+            cache.addIfAbsent(1, first);
+            assertThat(cache.addIfAbsent(1, new double[1]), is(sameInstance(first)));
+            assertThat(cache.totalBytes(), is(8L));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_illegal_limit() {
+            new LruCache<Integer, double[]>(0, 100L, v -> 8L * v.length);
+        }
+    }
+}
@@ -0,0 +1,176 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.Arrays;
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link Norm2Accumulator} test.
+ */
+@RunWith(Enclosed.class)
+final class Norm2AccumulatorTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class accumulate_size_and_scale_variation {
+
+        @DataPoints
+        public static double[] scales = {
+                Double.MIN_NORMAL,
+                1E-100, 1d, 1E100,
+                Double.MAX_VALUE / 1024
+        };
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 5, 10, 100, 10_000 };
+
+        @Theory
+        public void test_add(int size, double scale) {
+            double[] arr = randomArray(size, scale);
+
+            Norm2Accumulator acc = new Norm2Accumulator();
+            for (double v : arr) {
+                acc.add(v);
+            }
+            compareAndAssert(ArrayVec.norm2(arr), acc.result());
+        }
+
+        @Theory
+        public void test_addAll_and_merge(int size, double scale) {
+            double[] arr = randomArray(size, scale);
+            int split = size == 0 ? 0 : ThreadLocalRandom.current().nextInt(size);
+
+            Norm2Accumulator left = new Norm2Accumulator();
+            left.addAll(arr, 0, split);
+            Norm2Accumulator right = new Norm2Accumulator();
+            right.addAll(arr, split, size - split);
+            left.merge(right);
+            compareAndAssert(ArrayVec.norm2(arr), left.result());
+        }
+
+        @Theory
+        public void test_stream(int size, double scale) {
+            double[] arr = randomArray(size, scale);
+
+            compareAndAssert(ArrayVec.norm2(arr),
+                    Norm2Accumulator.collect(Arrays.stream(arr).parallel()));
+            compareAndAssert(ArrayVec.norm2(arr),
+                    Arrays.stream(arr).boxed().parallel().collect(Norm2Accumulator.collector()));
+        }
+    }
+
+    @RunWith(Theories.class)
+    public static class fast_path_threshold {
+
+        @DataPoints
+        public static int[] exponents = {
+                -1074, -1022, -470, -461, -460, -459,
+                0,
+                478, 479, 480, 481, 1020
+        };
+
+        @Theory
+        public void test_near_threshold(int exponent) {
+            double scale = Math.scalb(1d, exponent);
+            for (int size : new int[] { 1, 7, 1000 }) {
+                double[] arr = new double[size];
+                for (int i = 0; i < size; i++) {
+                    arr[i] = (0.5d + ThreadLocalRandom.current().nextDouble()) * scale;
+                }
+                double unitSum = 0d;
+                for (double v : arr) {
+                    double unit = v / scale;
+                    unitSum += unit * unit;
+                }
+                double expected = Math.sqrt(unitSum) * scale;
+
+                Norm2Accumulator acc = new Norm2Accumulator();
+                acc.addAll(arr, 0, size);
+                if (exponent <= -1022) {
+                    // 非正規化数は表現自体の精度が落ちるため, 比較は緩める
+                    assertThat(acc.result(), is(closeTo(expected, Math.abs(expected) * 1E-3)));
+                } else {
+                    compareAndAssert(expected, acc.result());
+                }
+            }
+        }
+
+        @Test
+        public void test_tiny_elements_beside_large_element() {
+            double[] arr = { 0x1p-460, 0x1p-600, 0x1p-1074, 0x1p-500 };
+            Norm2Accumulator acc = new Norm2Accumulator();
+            acc.addAll(arr, 0, arr.length);
+            compareAndAssert(0x1p-460, acc.result());
+        }
+    }
+
+    public static class special_values {
+
+        @Test
+        public void test_empty() {
+            assertThat(new Norm2Accumulator().result(), is(0d));
+        }
+
+        @Test
+        public void test_first_non_finite_is_kept_by_merge() {
+            double[] arr = new double[1000];
+            arr[100] = Double.NaN;
+            arr[900] = Double.NEGATIVE_INFINITY;
+            assertThat(Norm2Accumulator.collect(Arrays.stream(arr).parallel()), is(Double.NaN));
+
+            arr[100] = Double.NEGATIVE_INFINITY;
+            arr[900] = Double.NaN;
+            assertThat(Norm2Accumulator.collect(Arrays.stream(arr).parallel()),
+                    is(Double.POSITIVE_INFINITY));
+        }
+
+        @Test
+        public void test_reset() {
+            Norm2Accumulator acc = new Norm2Accumulator();
+            acc.add(Double.NaN);
+            acc.reset();
+            acc.add(3d);
+            acc.add(-4d);
+            assertThat(acc.result(), is(5d));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_addAll_out_of_range() {
+            new Norm2Accumulator().addAll(new double[10], 5, 6);
+        }
+    }
+
+    private static double[] randomArray(int size, double scale) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+
+    /**
+     * assertion based on relative error.
+     */
+    private static void compareAndAssert(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, Math.abs(expected) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+}
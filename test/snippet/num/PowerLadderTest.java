@@ -0,0 +1,82 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link PowerLadder} test.
+ */
+@RunWith(Enclosed.class)
+final class PowerLadderTest {
+
+    @RunWith(Theories.class)
+    public static class pow_test {
+
+        @DataPoints
+        public static double[] bases = {
+                0d, -0d, 1d, -1d, 2d, -0.5, 1.0000001, -3.7, 1E-5,
+                Double.MIN_VALUE, Double.MAX_VALUE,
+                Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+
+        private static final int[] specialExponents = {
+                0, 1, 2, 3, 31, 32, 33, 100, 1023, -1, -2, -33, -1024,
+                Integer.MAX_VALUE, Integer.MIN_VALUE, Integer.MIN_VALUE + 1 };
+
+        @Theory
+        public void test_equals_exponentiation_pow(double x) {
+            PowerLadder sparse = new PowerLadder();
+            PowerLadder dense = new PowerLadder(40);
+
+            // 別の底で使用した後に reset しても同じ結果になることを確認する
+            sparse.reset(1.5);
+            dense.reset(1.5);
+            sparse.reset(x);
+            dense.reset(x);
+            assertThat(sparse.base(), is(x));
+
+            for (int n : specialExponents) {
+                assertThat(sparse.pow(n), is(Exponentiation.pow(x, n)));
+                assertThat(dense.pow(n), is(Exponentiation.pow(x, n)));
+            }
+            for (int n = -50; n <= 50; n++) {
+                assertThat(sparse.pow(n), is(Exponentiation.pow(x, n)));
+                assertThat(dense.pow(n), is(Exponentiation.pow(x, n)));
+            }
+            for (int c = 0; c < 100; c++) {
+                int n = ThreadLocalRandom.current().nextInt();
+                assertThat(sparse.pow(n), is(Exponentiation.pow(x, n)));
+                assertThat(dense.pow(n), is(Exponentiation.pow(x, n)));
+            }
+        }
+    }
+
+    public static class constructor_test {
+
+        @Test
+        public void test_initial_base() {
+            PowerLadder ladder = new PowerLadder(0);
+            assertThat(ladder.base(), is(1d));
+            assertThat(ladder.pow(0), is(1d));
+            assertThat(ladder.pow(-7), is(1d));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_illegal_dense_max() {
+            new PowerLadder(-2);
+        }
+    }
+}
@@ -0,0 +1,144 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link ScaledProduct} test.
+ */
+@RunWith(Enclosed.class)
+final class ScaledProductTest {
+
+    private static final double relativeError = 1E-12;
+
+    @RunWith(Theories.class)
+    public static class size_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 3, 4, 5, 10, 1000, 5000 };
+
+        @Theory
+        public void test_logAbs_and_signum(int size) {
+            double[] arr = randomArray(size);
+
+            double expectedLog = 0d;
+            double expectedSign = 1d;
+            for (double v : arr) {
+                expectedLog += Math.log(Math.abs(v));
+                expectedSign *= Math.signum(v);
+            }
+
+            ScaledProduct all = new ScaledProduct();
+            all.multiplyAll(arr, 0, size);
+            ScaledProduct each = new ScaledProduct();
+            for (double v : arr) {
+                each.multiply(v);
+            }
+
+            for (ScaledProduct p : new ScaledProduct[] { all, each }) {
+                assertThat(p.logAbs(),
+                        is(closeTo(expectedLog, (Math.abs(expectedLog) + 1d) * relativeError)));
+                assertThat(p.signum(), is(expectedSign));
+                assertThat(Math.abs(p.mantissa()),
+                        is(both(greaterThanOrEqualTo(1d)).and(lessThan(2d))));
+            }
+        }
+
+        @Theory
+        public void test_merge(int size) {
+            double[] arr = randomArray(size);
+            int mid = size / 3;
+
+            ScaledProduct left = new ScaledProduct();
+            left.multiplyAll(arr, 0, mid);
+            ScaledProduct right = new ScaledProduct();
+            right.multiplyAll(arr, mid, size - mid);
+            left.multiply(right);
+
+            ScaledProduct all = new ScaledProduct();
+            all.multiplyAll(arr, 0, size);
+            assertThat(left.logAbs(),
+                    is(closeTo(all.logAbs(), (Math.abs(all.logAbs()) + 1d) * relativeError)));
+            assertThat(left.signum(), is(all.signum()));
+        }
+    }
+
+    public static class special {
+
+        @Test
+        public void test_value() {
+            ScaledProduct p = new ScaledProduct();
+            assertThat(p.value(), is(1d));
+            assertThat(p.logAbs(), is(0d));
+
+            p.multiplyAll(new double[] { 3d, -0.5, 1E300, 1E-300, 4d }, 0, 5);
+            assertThat(p.value(), is(closeTo(-6d, 6d * relativeError)));
+
+            p.reset();
+            p.multiplyAll(new double[] { 1E300, 1E300, 1E-300, 1E-300, 2d }, 0, 5);
+            assertThat(p.value(), is(closeTo(2d, 2d * relativeError)));
+
+            p.reset();
+            p.multiplyAll(new double[] { 1E300, 1E300, 1E300 }, 0, 3);
+            assertThat(p.value(), is(Double.POSITIVE_INFINITY));
+            assertThat(p.logAbs(), is(closeTo(900 * Math.log(10), 1E-10)));
+        }
+
+        @Test
+        public void test_subnormal() {
+            ScaledProduct p = new ScaledProduct();
+            p.multiplyAll(new double[] { Double.MIN_VALUE, 0x1p1000, -Double.MIN_VALUE, 0x1p1000 }, 0, 4);
+            assertThat(p.exponent(), is(-148L));
+            assertThat(p.mantissa(), is(-1d));
+            assertThat(p.value(), is(-0x1p-148));
+        }
+
+        @Test
+        public void test_non_finite() {
+            assertLogAbsAndSignum(new double[] { 2d, -0d, 3d, 1d, 5d }, Double.NEGATIVE_INFINITY, -0d);
+            assertLogAbsAndSignum(new double[] { 2d, Double.NEGATIVE_INFINITY, 3d, 1d, 5d },
+                    Double.POSITIVE_INFINITY, -1d);
+            assertLogAbsAndSignum(new double[] { 0d, 1d, 3d, Double.POSITIVE_INFINITY, 5d },
+                    Double.NaN, Double.NaN);
+            assertLogAbsAndSignum(new double[] { 1d, 1d, Double.NaN, 1d, 5d }, Double.NaN, Double.NaN);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_out_of_range() {
+            new ScaledProduct().multiplyAll(new double[3], 1, 3);
+        }
+
+        private static void assertLogAbsAndSignum(double[] arr, double expectedLog, double expectedSign) {
+            ScaledProduct p = new ScaledProduct();
+            p.multiplyAll(arr, 0, arr.length);
+            assertThat(p.logAbs(), is(expectedLog));
+            assertThat(p.signum(), is(expectedSign));
+        }
+    }
+
+    /**
+     * 絶対値が 10^(-300) から 10^300 の範囲に分布する乱数列.
+     */
+    private static double[] randomArray(int size) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = (ThreadLocalRandom.current().nextDouble() * 2d - 1d)
+                    * Math.pow(10, 300 * (ThreadLocalRandom.current().nextDouble() * 2d - 1d));
+        }
+        return arr;
+    }
+}
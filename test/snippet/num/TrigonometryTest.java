@@ -4,7 +4,7 @@
  */
 
 /*
- * 2025.12.30
+ * 2026.10.17
  */
 package snippet.num;
 
@@ -13,9 +13,17 @@ import static org.hamcrest.MatcherAssert.*;
 import static org.hamcrest.Matchers.*;
 import static snippet.num.Trigonometry.*;
 
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.util.Arrays;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
 import java.util.stream.DoubleStream;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
 
 import org.junit.BeforeClass;
+import org.junit.Test;
 import org.junit.experimental.runners.Enclosed;
 import org.junit.experimental.theories.DataPoints;
 import org.junit.experimental.theories.Theories;
@@ -70,6 +78,338 @@ final class TrigonometryTest {
         }
     }
 
+    public static class trigPi_array {
+
+        /**
+         * 格子点, 区間の境界付近, 特殊値, 乱数.
+         */
+        static double[] values() {
+            double[] grid = DoubleStream.iterate(-4d, x -> x + 1d / 64)
+                    .limit(8 * 64 + 1)
+                    .toArray();
+            double[] boundaries = DoubleStream.of(0.125, 0.25, 0.375, 0.5, 0.75, 1d, 1.5, 2d)
+                    .flatMap(b -> DoubleStream.of(b, Math.nextDown(b), Math.nextUp(b)))
+                    .flatMap(b -> DoubleStream.of(b, -b))
+                    .toArray();
+            double[] specials = {
+                    0d, -0d, Double.MIN_VALUE, -Double.MIN_VALUE, 1E-300, 1E15 + 0.5, 1E300, -1E300,
+                    Double.MAX_VALUE, Double.POSITIVE_INFINITY, Double.NEGATIVE_INFINITY, Double.NaN };
+            double[] randoms = new double[10_000];
+            for (int i = 0; i < randoms.length; i++) {
+                randoms[i] = Math.pow(10, ThreadLocalRandom.current().nextDouble() * 12d - 6d)
+                        * (ThreadLocalRandom.current().nextBoolean() ? 1d : -1d);
+            }
+            return Stream.of(grid, boundaries, specials, randoms)
+                    .flatMapToDouble(DoubleStream::of)
+                    .toArray();
+        }
+
+        @Test
+        public void test_equals_scalar() {
+            double[] x = values();
+            double[] sin = new double[x.length];
+            double[] cos = new double[x.length];
+            double[] tan = new double[x.length];
+            sinpi(x, sin);
+            cospi(x, cos);
+            tanpi(x, tan);
+            for (int i = 0; i < x.length; i++) {
+                // Double.equals による比較 (符号付きゼロを区別する)
+                assertThat(sin[i], is(sinpi(x[i])));
+                assertThat(cos[i], is(cospi(x[i])));
+                assertThat(tan[i], is(tanpi(x[i])));
+            }
+
+            double[] inPlace = x.clone();
+            sinpi(inPlace, inPlace);
+            assertThat(inPlace, is(sin));
+            inPlace = x.clone();
+            cospi(inPlace, inPlace);
+            assertThat(inPlace, is(cos));
+            inPlace = x.clone();
+            tanpi(inPlace, inPlace);
+            assertThat(inPlace, is(tan));
+        }
+
+        @Test
+        public void test_offset() {
+            double[] x = values();
+            int length = x.length - 5;
+            double[] out = new double[length + 3];
+
+            sinpi(x, 2, out, 1, length);
+            double[] expected = new double[x.length];
+            sinpi(x, expected);
+            assertThat(Arrays.copyOfRange(out, 1, length + 1), is(Arrays.copyOfRange(expected, 2, length + 2)));
+
+            cospi(x, 2, out, 1, length);
+            cospi(x, expected);
+            assertThat(Arrays.copyOfRange(out, 1, length + 1), is(Arrays.copyOfRange(expected, 2, length + 2)));
+
+            tanpi(x, 2, out, 1, length);
+            tanpi(x, expected);
+            assertThat(Arrays.copyOfRange(out, 1, length + 1), is(Arrays.copyOfRange(expected, 2, length + 2)));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            sinpi(new double[3], new double[2]);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_out_of_range() {
+            tanpi(new double[3], 1, new double[3], 2, 2);
+        }
+    }
+
+    public static class sincospi_test {
+
+        @Test
+        public void test_compare_to_sinpi_and_cospi() {
+            double[] x = trigPi_array.values();
+            double[] sin = new double[x.length];
+            double[] cos = new double[x.length];
+            sincospi(x, sin, cos);
+
+            double[] pair = new double[3];
+            for (int i = 0; i < x.length; i++) {
+                sincospi(x[i], pair, 1);
+                assertThat(pair[1], is(sin[i]));
+                assertThat(pair[2], is(cos[i]));
+
+                assertWithinUlps(sinpi(x[i]), sin[i]);
+                assertWithinUlps(cospi(x[i]), cos[i]);
+            }
+
+            double[] inPlace = x.clone();
+            sincospi(inPlace, inPlace, cos);
+            assertThat(inPlace, is(sin));
+        }
+
+        @Test
+        public void test_exact_values() {
+            for (int k = -16; k <= 16; k++) {
+                double x = k * 0.5;
+                double[] out = new double[2];
+                sincospi(x, out, 0);
+                // 0 の符号は比較しない
+                assertThat(out[0] + 0d, is(sinpi(x) + 0d));
+                assertThat(out[1] + 0d, is(cospi(x) + 0d));
+            }
+            double[] out = new double[2];
+            sincospi(-0d, out, 0);
+            assertThat(out[0], is(-0d));
+            assertThat(out[1], is(1d));
+            sincospi(Double.POSITIVE_INFINITY, out, 0);
+            assertThat(out[0], is(Double.NaN));
+            assertThat(out[1], is(Double.NaN));
+        }
+
+        @Test
+        public void test_offset() {
+            double[] x = trigPi_array.values();
+            int length = x.length - 5;
+            double[] sin = new double[length + 3];
+            double[] cos = new double[length + 1];
+            sincospi(x, 2, sin, 3, cos, 1, length);
+
+            double[] expectedSin = new double[x.length];
+            double[] expectedCos = new double[x.length];
+            sincospi(x, expectedSin, expectedCos);
+            assertThat(Arrays.copyOfRange(sin, 3, length + 3), is(Arrays.copyOfRange(expectedSin, 2, length + 2)));
+            assertThat(Arrays.copyOfRange(cos, 1, length + 1), is(Arrays.copyOfRange(expectedCos, 2, length + 2)));
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_out_of_range() {
+            sincospi(0.3, new double[2], 1);
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            sincospi(new double[3], new double[3], new double[2]);
+        }
+
+        private static void assertWithinUlps(double expected, double result) {
+            if (Double.isNaN(expected)) {
+                assertThat(result, is(Double.NaN));
+                return;
+            }
+            assertThat(result, is(closeTo(expected, 2 * Math.ulp(expected) + Double.MIN_VALUE)));
+        }
+    }
+
+    public static class minimax_test {
+
+        @Test
+        public void test_compare_to_sinpi_and_cospi() {
+            double[] x = trigPi_array.values();
+            double[] sin = new double[x.length];
+            double[] cos = new double[x.length];
+            sinpiMinimax(x, sin);
+            cospiMinimax(x, cos);
+            for (int i = 0; i < x.length; i++) {
+                assertThat(sinpiMinimax(x[i]), is(sin[i]));
+                assertThat(cospiMinimax(x[i]), is(cos[i]));
+                assertWithinUlps(sinpi(x[i]), sin[i]);
+                assertWithinUlps(cospi(x[i]), cos[i]);
+            }
+
+            double[] inPlace = x.clone();
+            sinpiMinimax(inPlace, inPlace);
+            assertThat(inPlace, is(sin));
+        }
+
+        @Test
+        public void test_exact_values() {
+            for (int k = -16; k <= 16; k++) {
+                double x = k * 0.5;
+                assertThat(sinpiMinimax(x), is(sinpi(x)));
+                // cos の 0 の符号は比較しない
+                assertThat(cospiMinimax(x) + 0d, is(cospi(x) + 0d));
+            }
+            assertThat(sinpiMinimax(-0d), is(-0d));
+            assertThat(cospiMinimax(-0d), is(1d));
+            assertThat(sinpiMinimax(Double.NEGATIVE_INFINITY), is(Double.NaN));
+            assertThat(cospiMinimax(Double.NaN), is(Double.NaN));
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_length_mismatch() {
+            cospiMinimax(new double[3], new double[2]);
+        }
+
+        private static void assertWithinUlps(double expected, double result) {
+            if (Double.isNaN(expected)) {
+                assertThat(result, is(Double.NaN));
+                return;
+            }
+            assertThat(result, is(closeTo(expected, 2 * Math.ulp(expected) + Double.MIN_VALUE)));
+        }
+    }
+
+    public static class minimax_ulp_test {
+
+        /**
+         * 許容する誤差 (ulp).
+         */
+        private static final double MAX_ULPS = 1.25;
+
+        private static final MathContext CONTEXT = new MathContext(60);
+
+        private static final BigDecimal PI = new BigDecimal(
+                "3.14159265358979323846264338327950288419716939937510582097494459230781640628");
+
+        private static final BigDecimal TWO = BigDecimal.valueOf(2);
+
+        private static final BigDecimal EPSILON = new BigDecimal("1E-50");
+
+        @Test
+        public void test_compare_to_reference() {
+            double[] x = samples();
+            UlpStatistics sinpiStat = new UlpStatistics();
+            UlpStatistics sinpiMinimaxStat = new UlpStatistics();
+            UlpStatistics cospiStat = new UlpStatistics();
+            UlpStatistics cospiMinimaxStat = new UlpStatistics();
+            for (double v : x) {
+                // pi * r (-pi <= pi * r < pi), r は x を 2 で割った剰余 (正確)
+                BigDecimal r = new BigDecimal(v).remainder(TWO);
+                if (r.compareTo(BigDecimal.ONE) >= 0) {
+                    r = r.subtract(TWO);
+                } else if (r.compareTo(BigDecimal.ONE.negate()) < 0) {
+                    r = r.add(TWO);
+                }
+                BigDecimal y = PI.multiply(r, CONTEXT);
+                BigDecimal sin = sinSeries(y);
+                BigDecimal cos = cosSeries(y);
+                // 整数, 半整数では正確な値 0 とする
+                if (r.signum() == 0 || r.abs().compareTo(BigDecimal.ONE) == 0) {
+                    sin = BigDecimal.ZERO;
+                }
+                if (r.abs().compareTo(new BigDecimal("0.5")) == 0) {
+                    cos = BigDecimal.ZERO;
+                }
+
+                sinpiStat.add(sinpi(v), sin);
+                sinpiMinimaxStat.add(sinpiMinimax(v), sin);
+                cospiStat.add(cospi(v), cos);
+                cospiMinimaxStat.add(cospiMinimax(v), cos);
+            }
+
+            assertThat(sinpiMinimaxStat.max, is(lessThanOrEqualTo(MAX_ULPS)));
+            assertThat(cospiMinimaxStat.max, is(lessThanOrEqualTo(MAX_ULPS)));
+            // 平均誤差は Math.sin による計算より小さい
+            assertThat(sinpiMinimaxStat.mean(), is(lessThan(sinpiStat.mean())));
+            assertThat(cospiMinimaxStat.mean(), is(lessThan(cospiStat.mean())));
+        }
+
+        /**
+         * [0, 2) の 1/16384 刻みの格子と, 固定したシードによる乱数の標本.
+         */
+        private static double[] samples() {
+            SplittableRandom random = new SplittableRandom(20261017L);
+            DoubleStream grid = IntStream.range(0, 2 * 16384).mapToDouble(k -> k / 16384d);
+            DoubleStream near = random.doubles(4000, -4d, 4d);
+            DoubleStream tiny = random.doubles(1000, -1d, 1d).map(v -> Math.scalb(v, -random.nextInt(60)));
+            DoubleStream large = random.doubles(1000, -1E6, 1E6);
+            return Stream.of(grid, near, tiny, large)
+                    .flatMapToDouble(s -> s)
+                    .toArray();
+        }
+
+        private static BigDecimal sinSeries(BigDecimal y) {
+            BigDecimal y2 = y.multiply(y, CONTEXT);
+            BigDecimal term = y;
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int k = 1; term.abs().compareTo(EPSILON) > 0; k += 2) {
+                sum = sum.add(term, CONTEXT);
+                term = term.multiply(y2, CONTEXT)
+                        .divide(BigDecimal.valueOf(-(long) (k + 1) * (k + 2)), CONTEXT);
+            }
+            return sum;
+        }
+
+        private static BigDecimal cosSeries(BigDecimal y) {
+            BigDecimal y2 = y.multiply(y, CONTEXT);
+            BigDecimal term = BigDecimal.ONE;
+            BigDecimal sum = BigDecimal.ZERO;
+            for (int k = 0; term.abs().compareTo(EPSILON) > 0; k += 2) {
+                sum = sum.add(term, CONTEXT);
+                term = term.multiply(y2, CONTEXT)
+                        .divide(BigDecimal.valueOf(-(long) (k + 1) * (k + 2)), CONTEXT);
+            }
+            return sum;
+        }
+
+        /**
+         * 参照値との差の ulp 単位の最大値と平均.
+         */
+        private static final class UlpStatistics {
+
+            double max;
+            double sum;
+            int count;
+
+            void add(double result, BigDecimal reference) {
+                double error;
+                if (reference.signum() == 0) {
+                    error = result == 0d ? 0d : Double.POSITIVE_INFINITY;
+                } else {
+                    double ulp = Math.ulp(reference.doubleValue());
+                    error = new BigDecimal(result).subtract(reference).abs()
+                            .divide(new BigDecimal(ulp), MathContext.DECIMAL64).doubleValue();
+                }
+                max = Math.max(max, error);
+                sum += error;
+                count++;
+            }
+
+            double mean() {
+                return sum / count;
+            }
+        }
+    }
+
     @RunWith(Theories.class)
     public static class sinpi_special {
 
@@ -436,4 +776,37 @@ final class TrigonometryTest {
             assertThat(cosm1pi(x) + 0d, is(expected));
         }
     }
+
+    @RunWith(Theories.class)
+    public static class trigPi_float {
+
+        @DataPoints
+        public static float[] xs = {
+                -30.25f, -2.5f, -1f, -0.75f, -0.5f, -0.125f, -0f,
+                0f, 1E-30f, 0.1f, 0.25f, 0.3f, 0.5f, 1f, 1.5f, 7.875f, 1000.3f,
+                Float.NaN, Float.POSITIVE_INFINITY
+        };
+
+        @Theory
+        public void test_float_equals_rounded_double(float x) {
+            assertThat(sinpif(x), is((float) sinpi(x)));
+            assertThat(cospif(x), is((float) cospi(x)));
+            assertThat(tanpif(x), is((float) tanpi(x)));
+            assertThat(asinpif(x), is((float) asinpi(x)));
+            assertThat(acospif(x), is((float) acospi(x)));
+            assertThat(atanpif(x), is((float) atanpi(x)));
+        }
+
+        @Theory
+        public void test_float_special(float x) {
+            if (x == 0.5f) {
+                assertThat(sinpif(x), is(1f));
+                assertThat(cospif(x) + 0f, is(0f));
+            }
+            if (x == 1f) {
+                assertThat(sinpif(x) + 0f, is(0f));
+                assertThat(cospif(x), is(-1f));
+            }
+        }
+    }
 }
@@ -0,0 +1,126 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link TwiddleTable} test.
+ */
+@RunWith(Enclosed.class)
+final class TwiddleTableTest {
+
+    @RunWith(Theories.class)
+    public static class values {
+
+        @DataPoints
+        public static int[] sizes = { 1, 2, 3, 4, 5, 6, 8, 12, 16, 40, 97, 1024, 1000 };
+
+        @Theory
+        public void test_compare_to_trigonometry(int n) {
+            TwiddleTable table = TwiddleTable.of(n);
+            assertThat(table.size(), is(n));
+            // 直接計算の場合, 引数 2k/N の丸め誤差 (pi 倍される) が加わる
+            for (int k = 0; k < n; k++) {
+                double x = 2d * k / n;
+                assertThat(table.cos(k), is(closeTo(Trigonometry.cospi(x), 1E-15)));
+                assertThat(table.sin(k), is(closeTo(Trigonometry.sinpi(x), 1E-15)));
+            }
+        }
+
+        @Theory
+        public void test_symmetry_and_exact_values(int n) {
+            TwiddleTable table = TwiddleTable.of(n);
+            assertThat(table.cos(0), is(1d));
+            assertThat(table.sin(0), is(0d));
+            for (int k = 1; k < n; k++) {
+                assertThat(table.cos(k), is(table.cos(n - k)));
+                // k = N/2 の 0 の符号は比較しない
+                assertThat(table.sin(k) + 0d, is(-table.sin(n - k) + 0d));
+            }
+            if (n % 4 == 0) {
+                assertThat(table.cos(n / 4), is(0d));
+                assertThat(table.sin(n / 4), is(1d));
+                assertThat(table.cos(n / 2), is(-1d));
+                assertThat(table.sin(n / 2) + 0d, is(0d));
+                assertThat(table.cos(3 * n / 4) + 0d, is(0d));
+                assertThat(table.sin(3 * n / 4), is(-1d));
+            }
+            if (n % 8 == 0) {
+                assertThat(table.cos(n / 8), is(table.sin(n / 8)));
+            }
+
+            double[] cos = new double[n];
+            double[] sin = new double[n];
+            table.copyTo(cos, sin);
+            for (int k = 0; k < n; k++) {
+                assertThat(cos[k], is(table.cos(k)));
+                assertThat(sin[k], is(table.sin(k)));
+            }
+        }
+    }
+
+    public static class cache {
+
+        @Test
+        public void test_shared_instance() {
+            assertThat(TwiddleTable.of(256), is(sameInstance(TwiddleTable.of(256))));
+        }
+
+        @Test
+        public void test_eviction() {
+            TwiddleTable first = TwiddleTable.of(777);
+            // 容量を超える個数の表を構築すると, 最も長く参照されていない表は破棄される
+            for (int n = 10_001; n <= 10_100; n++) {
+                TwiddleTable.of(n);
+            }
+            TwiddleTable second = TwiddleTable.of(777);
+            assertThat(second, is(not(sameInstance(first))));
+            for (int k = 0; k < 777; k++) {
+                assertThat(second.cos(k), is(first.cos(k)));
+            }
+        }
+
+        @Test
+        public void test_concurrent_access() throws Exception {
+            ExecutorService executor = Executors.newFixedThreadPool(4);
+            try {
+                List<Future<TwiddleTable>> futures = new ArrayList<>();
+                for (int i = 0; i < 64; i++) {
+                    int n = 64 + (i % 8);
+                    futures.add(executor.submit((Callable<TwiddleTable>) () -> TwiddleTable.of(n)));
+                }
+                for (int i = 0; i < futures.size(); i++) {
+                    TwiddleTable table = futures.get(i).get();
+                    assertThat(table.size(), is(64 + (i % 8)));
+                    assertThat(table.sin(0), is(0d));
+                }
+            } finally {
+                executor.shutdown();
+            }
+        }
+
+        @Test(expected = IllegalArgumentException.class)
+        public void test_illegal_size() {
+            TwiddleTable.of(0);
+        }
+    }
+}
@@ -0,0 +1,200 @@
+/*
+ * This is free and unencumbered software released into the public domain.
+ * See the UNLICENSE file for details.
+ */
+
+package snippet.num;
+
+import static org.hamcrest.MatcherAssert.*;
+import static org.hamcrest.Matchers.*;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import org.junit.Test;
+import org.junit.experimental.runners.Enclosed;
+import org.junit.experimental.theories.DataPoints;
+import org.junit.experimental.theories.Theories;
+import org.junit.experimental.theories.Theory;
+import org.junit.runner.RunWith;
+
+/**
+ * {@link WeightedLogSumExpAccumulator} test.
+ */
+@RunWith(Enclosed.class)
+final class WeightedLogSumExpAccumulatorTest {
+
+    private static final double relativeError = 1E-12;
+
+    private static final double INF = Double.POSITIVE_INFINITY;
+    private static final double NaN = Double.NaN;
+
+    @RunWith(Theories.class)
+    public static class size_variation {
+
+        @DataPoints
+        public static int[] sizes = { 0, 1, 2, 5, 10, 100, 10_000 };
+
+        @Theory
+        public void test_positive_weights(int size) {
+            double[] x = randomArray(size, 500d);
+            double[] w = new double[size];
+            double[] shifted = new double[size];
+            for (int i = 0; i < size; i++) {
+                w[i] = Math.exp(ThreadLocalRandom.current().nextDouble() * 20d - 10d);
+                shifted[i] = x[i] + Math.log(w[i]);
+            }
+            double expected = Exponentiation.logSumExp(shifted);
+
+            WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+            for (int i = 0; i < size; i++) {
+                acc.add(x[i], w[i]);
+            }
+            assertLogAbs(expected, acc.logAbs());
+            assertThat(acc.signum(), is(size == 0 ? 0d : 1d));
+
+            WeightedLogSumExpAccumulator all = new WeightedLogSumExpAccumulator();
+            all.addAll(x, 0, w, 0, size);
+            assertLogAbs(expected, all.logAbs());
+        }
+
+        @Theory
+        public void test_signed_and_merge(int size) {
+            if (size < 100) {
+                return;
+            }
+
+            // 正の項が優勢になるように符号を与え, 桁落ちの影響を抑える
+            double[] x = randomArray(size, 3d);
+            double[] s = new double[size];
+            for (int i = 0; i < size; i++) {
+                s[i] = ThreadLocalRandom.current().nextDouble() < 0.7 ? 1d : -1d;
+            }
+            double expected = signedReference(x, s);
+
+            int split = ThreadLocalRandom.current().nextInt(size);
+            WeightedLogSumExpAccumulator left = new WeightedLogSumExpAccumulator();
+            left.addAll(x, 0, s, 0, split);
+            WeightedLogSumExpAccumulator right = new WeightedLogSumExpAccumulator();
+            right.addAll(x, split, s, split, size - split);
+            left.merge(right);
+            assertLogAbs(expected, left.logAbs());
+            assertThat(left.signum(), is(1d));
+
+            // 符号を反転させる
+            for (int i = 0; i < size; i++) {
+                s[i] = -s[i];
+            }
+            WeightedLogSumExpAccumulator negated = new WeightedLogSumExpAccumulator();
+            negated.addAll(x, 0, s, 0, size);
+            assertLogAbs(expected, negated.logAbs());
+            assertThat(negated.signum(), is(-1d));
+        }
+    }
+
+    public static class special {
+
+        @Test
+        public void test_signed_small() {
+            // e^2 - e^1 - e^0
+            WeightedLogSumExpAccumulator acc = new WeightedLogSumExpAccumulator();
+            acc.addAll(new double[] { 1d, 2d, 0d }, 0, new double[] { -1d, 1d, -1d }, 0, 3);
+            assertLogAbs(Math.log(Math.exp(2d) - Math.exp(1d) - 1d), acc.logAbs());
+            assertThat(acc.signum(), is(1d));
+
+            // 0.5 e^1000 - 2 e^1000 (オーバーフローしない)
+            acc.reset();
+            acc.add(1000d, 0.5);
+            acc.add(1000d, -2d);
+            assertLogAbs(1000d + Math.log(1.5), acc.logAbs());
+            assertThat(acc.signum(), is(-1d));
+
+            // 完全に打ち消す場合
+            acc.reset();
+            acc.addAll(new double[] { 3d, 3d }, 0, new double[] { 1d, -1d }, 0, 2);
+            assertThat(acc.logAbs(), is(Double.NEGATIVE_INFINITY));
+            assertThat(acc.signum(), is(0d));
+        }
+
+        @Test
+        public void test_special_values() {
+            assertSpecial(new double[] {}, new double[] {}, -INF, 0d);
+            assertSpecial(new double[] { 1d, NaN }, new double[] { 1d, 0d }, 1d, 1d);
+            assertSpecial(new double[] { -INF, 1d }, new double[] { NaN, -1d }, 1d, -1d);
+            assertSpecial(new double[] { 1d, INF, INF }, new double[] { 1d, 2d, -3d }, INF, -1d);
+            assertSpecial(new double[] { INF, 1d, INF }, new double[] { 2d, 1d, -2d }, NaN, 0d);
+            assertSpecial(new double[] { 1d, NaN, 2d }, new double[] { 1d, 1d, 1d }, NaN, NaN);
+            assertSpecial(new double[] { 1d, 2d }, new double[] { NaN, 1d }, NaN, NaN);
+            assertSpecial(new double[] { NaN, INF }, new double[] { 1d, 1d }, NaN, NaN);
+            assertSpecial(new double[] { INF, NaN }, new double[] { 1d, 1d }, NaN, NaN);
+            assertSpecial(new double[] { INF, 2d }, new double[] { NaN, 1d }, NaN, NaN);
+        }
+
+        @Test(expected = IndexOutOfBoundsException.class)
+        public void test_out_of_range() {
+            new WeightedLogSumExpAccumulator().addAll(new double[3], 0, new double[2], 0, 3);
+        }
+
+        private static void assertSpecial(double[] x, double[] w, double expectedLog, double expectedSign) {
+            WeightedLogSumExpAccumulator all = new WeightedLogSumExpAccumulator();
+            all.addAll(x, 0, w, 0, x.length);
+            WeightedLogSumExpAccumulator each = new WeightedLogSumExpAccumulator();
+            for (int i = 0; i < x.length; i++) {
+                each.add(x[i], w[i]);
+            }
+            // 1要素ずつのアキュムレータを合成する
+            WeightedLogSumExpAccumulator merged = new WeightedLogSumExpAccumulator();
+            for (int i = 0; i < x.length; i++) {
+                WeightedLogSumExpAccumulator single = new WeightedLogSumExpAccumulator();
+                single.add(x[i], w[i]);
+                merged.merge(single);
+            }
+
+            for (WeightedLogSumExpAccumulator acc : new WeightedLogSumExpAccumulator[] { all, each, merged }) {
+                assertLogAbs(expectedLog, acc.logAbs());
+                assertThat(acc.signum(), is(expectedSign));
+            }
+        }
+    }
+
+    /**
+     * 符号付きの和の対数の参照値: 正の項と負の項を分けて log-summation-exp をとる.
+     */
+    static double signedReference(double[] x, double[] s) {
+        int positiveCount = 0;
+        for (double v : s) {
+            if (v > 0d) {
+                positiveCount++;
+            }
+        }
+        double[] positive = new double[positiveCount];
+        double[] negative = new double[s.length - positiveCount];
+        for (int i = 0, p = 0, n = 0; i < s.length; i++) {
+            if (s[i] > 0d) {
+                positive[p++] = x[i];
+            } else {
+                negative[n++] = x[i];
+            }
+        }
+        double lp = Exponentiation.logSumExp(positive);
+        double ln = Exponentiation.logSumExp(negative);
+        return lp > ln
+                ? Exponentiation.logSubExp(lp, ln)
+                : Exponentiation.logSubExp(ln, lp);
+    }
+
+    private static void assertLogAbs(double expected, double result) {
+        if (Double.isFinite(expected)) {
+            assertThat(result, is(closeTo(expected, (Math.abs(expected) + 1d) * relativeError)));
+        } else {
+            assertThat(result, is(expected));
+        }
+    }
+
+    private static double[] randomArray(int size, double scale) {
+        double[] arr = new double[size];
+        for (int i = 0; i < size; i++) {
+            arr[i] = scale * (ThreadLocalRandom.current().nextDouble() * 2d - 1d);
+        }
+        return arr;
+    }
+}